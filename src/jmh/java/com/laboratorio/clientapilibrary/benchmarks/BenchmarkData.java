@@ -0,0 +1,128 @@
+package com.laboratorio.clientapilibrary.benchmarks;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.imageio.ImageIO;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+
+/**
+ * Datos de prueba compartidos por los benchmarks.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public final class BenchmarkData {
+    private BenchmarkData() {
+    }
+    
+    // Respuesta JSON parecida a un timeline de una red social, de unos size bytes
+    public static byte[] createJson(int size) {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder("[");
+        int id = 0;
+        while (json.length() < size) {
+            if (id > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(1_000_000 + id++).append("\",\"account\":{\"username\":\"user")
+                    .append(random.nextInt(5000)).append("\",\"followers\":").append(random.nextInt(100000))
+                    .append("},\"content\":\"Texto de la publicación número ").append(id)
+                    .append(" con un enlace https://example.com/post/").append(random.nextInt())
+                    .append(" y el hashtag #prueba\",\"favourites\":").append(random.nextInt(1000)).append('}');
+        }
+        
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    public static byte[] encode(String encoding, byte[] data) throws IOException {
+        switch (encoding) {
+            case "gzip":
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+                    gzip.write(data);
+                }
+                return output.toByteArray();
+            case "deflate":
+                ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+                try (DeflaterOutputStream deflate = new DeflaterOutputStream(deflated)) {
+                    deflate.write(data);
+                }
+                return deflated.toByteArray();
+            case "br":
+                Brotli4jLoader.ensureAvailability();
+                return Encoder.compress(data);
+            default:
+                return data;
+        }
+    }
+    
+    // Imagen temporal con ruido, para que la compresión no la reduzca a nada
+    public static Path createImage(String format, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(7);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        
+        Path file = Files.createTempFile("benchmark-", "." + format);
+        ImageIO.write(image, format, file.toFile());
+        return file;
+    }
+    
+    // Contexto TLS con un certificado autofirmado para 127.0.0.1, generado con keytool,
+    // que sirve tanto al servidor como a los clientes que confían en él
+    public static SSLContext createSslContext() throws IOException, GeneralSecurityException {
+        char[] password = "benchmark".toCharArray();
+        Path keystoreFile = Files.createTempFile("benchmark-", ".p12");
+        Files.delete(keystoreFile);
+        
+        try {
+            String keytool = System.getProperty("java.home") + File.separator + "bin" + File.separator + "keytool";
+            Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", "benchmark", "-keyalg", "RSA",
+                    "-keysize", "2048", "-validity", "1", "-dname", "CN=127.0.0.1", "-ext", "SAN=ip:127.0.0.1",
+                    "-storetype", "PKCS12", "-keystore", keystoreFile.toString(),
+                    "-storepass", new String(password)).redirectErrorStream(true).start();
+            process.getInputStream().readAllBytes();
+            if (process.waitFor() != 0) {
+                throw new IOException("keytool no pudo generar el certificado");
+            }
+            
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            try (InputStream is = Files.newInputStream(keystoreFile)) {
+                keyStore.load(is, password);
+            }
+            KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            kmf.init(keyStore, password);
+            TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            tmf.init(keyStore);
+            
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(kmf.getKeyManagers(), tmf.getTrustManagers(), null);
+            return context;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Se interrumpió la generación del certificado", e);
+        } finally {
+            Files.deleteIfExists(keystoreFile);
+        }
+    }
+}
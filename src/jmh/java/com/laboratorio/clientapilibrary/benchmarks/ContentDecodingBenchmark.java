@@ -0,0 +1,57 @@
+package com.laboratorio.clientapilibrary.benchmarks;
+
+import com.laboratorio.clientapilibrary.utils.ContentDecoder;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Procesamiento del cuerpo de la respuesta tal como lo hace ApiClient:
+ * descompresión al vuelo y conversión a String con el charset del Content-Type.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentDecodingBenchmark {
+    @Param({"identity", "gzip", "deflate", "br"})
+    private String encoding;
+    
+    @Param({"4096", "262144"})
+    private int size;
+    
+    private byte[] body;
+    
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.body = BenchmarkData.encode(this.encoding, BenchmarkData.createJson(this.size));
+    }
+    
+    @Benchmark
+    public String processResponse() throws IOException {
+        String contentEncoding = "identity".equals(this.encoding) ? null : this.encoding;
+        try (InputStream decoded = ContentDecoder.decode(contentEncoding, new ByteArrayInputStream(this.body))) {
+            return new String(decoded.readAllBytes(), ContentDecoder.getCharset("application/json; charset=utf-8"));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.laboratorio.clientapilibrary.benchmarks;
+
+import com.laboratorio.clientapilibrary.ApiClient;
+import com.laboratorio.clientapilibrary.model.ApiMethodType;
+import com.laboratorio.clientapilibrary.model.ApiRequest;
+import com.laboratorio.clientapilibrary.transport.HttpClientTransport;
+import com.laboratorio.clientapilibrary.transport.UrlConnectionTransport;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendimiento de extremo a extremo de ApiClient contra un servidor local, con cada
+ * uno de los transportes, respuestas con y sin compresión y con y sin TLS. Con TLS
+ * se ve el coste de abrir una conexión nueva en cada petición.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+// Sin Nagle en el servidor, para no medir las esperas del ACK retardado
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class EndToEndBenchmark {
+    @Param({"httpclient", "urlconnection"})
+    private String transport;
+    
+    @Param({"identity", "gzip"})
+    private String encoding;
+    
+    @Param({"false", "true"})
+    private boolean tls;
+    
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ApiClient client;
+    private String uri;
+    
+    @Setup(Level.Trial)
+    public void setup() throws IOException, GeneralSecurityException {
+        byte[] body = BenchmarkData.encode(this.encoding, BenchmarkData.createJson(8192));
+        
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        if (this.tls) {
+            // JMH ejecuta cada combinación de parámetros en su propia JVM, así que el contexto por
+            // defecto solo afecta a este benchmark. Se fija antes de crear el cliente compartido
+            SSLContext sslContext = BenchmarkData.createSslContext();
+            SSLContext.setDefault(sslContext);
+            HttpsServer httpsServer = HttpsServer.create(address, 0);
+            httpsServer.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+            this.server = httpsServer;
+        } else {
+            this.server = HttpServer.create(address, 0);
+        }
+        this.server.createContext("/api", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            if (!"identity".equals(this.encoding)) {
+                exchange.getResponseHeaders().add("Content-Encoding", this.encoding);
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        this.serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server.setExecutor(this.serverExecutor);
+        this.server.start();
+        
+        this.uri = (this.tls ? "https" : "http") + "://127.0.0.1:" + this.server.getAddress().getPort() + "/api";
+        this.client = new ApiClient("httpclient".equals(this.transport) ? new HttpClientTransport() : new UrlConnectionTransport());
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.server.stop(0);
+        this.serverExecutor.shutdownNow();
+    }
+    
+    @Benchmark
+    public String executeApiRequest() {
+        ApiRequest request = new ApiRequest(this.uri, 200, ApiMethodType.GET);
+        request.addApiPathParam("limit", "40");
+        return this.client.executeApiRequest(request).getResponseStr();
+    }
+}
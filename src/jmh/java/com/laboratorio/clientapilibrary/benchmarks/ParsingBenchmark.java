@@ -0,0 +1,120 @@
+package com.laboratorio.clientapilibrary.benchmarks;
+
+import com.laboratorio.clientapilibrary.model.SerializableCookie;
+import com.laboratorio.clientapilibrary.utils.CookieManager;
+import com.laboratorio.clientapilibrary.utils.ElementoPost;
+import com.laboratorio.clientapilibrary.utils.HtmlMetadataExtractor;
+import com.laboratorio.clientapilibrary.utils.ImageMetadata;
+import com.laboratorio.clientapilibrary.utils.ImageMetadataExtractor;
+import com.laboratorio.clientapilibrary.utils.PostUtils;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Análisis de cookies, del texto de las publicaciones, de los metadatos de imágenes
+ * y de la metadata de previsualización de las páginas.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsingBenchmark {
+    private List<String> cookiesHeader;
+    private String postText;
+    private Path pngFile;
+    private Path jpegFile;
+    private String html;
+    
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.cookiesHeader = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            this.cookiesHeader.add("session" + i + "=a3f5c9e1b2d4" + i + "; Path=/; Domain=example.com; Max-Age=86400; Secure; HttpOnly");
+        }
+        
+        this.postText = "Nueva versión de la librería publicada 🎉 Detalles en https://github.com/labdertafa/clientapilibrary "
+                + "y la documentación en https://example.com/docs?lang=es #java #opensource #rendimiento "
+                + "Gracias a todos por las pruebas, seguimos mejorando #ApiClient https://example.com/changelog";
+        
+        this.pngFile = BenchmarkData.createImage("png", 800, 600);
+        this.jpegFile = BenchmarkData.createImage("jpg", 800, 600);
+        
+        // Página de 1 MB con la metadata en la cabecera
+        StringBuilder page = new StringBuilder("<html><head><title>Noticia</title><meta name=\"description\" content=\"Resumen\">"
+                + "<meta property=\"og:image\" content=\"https://example.com/portada.jpg\"></head><body>");
+        while (page.length() < 1024 * 1024) {
+            page.append("<p>Lorem <b>ipsum</b> dolor sit amet, consectetur adipiscing elit.</p>\n");
+        }
+        this.html = page.append("</body></html>").toString();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.pngFile);
+        Files.deleteIfExists(this.jpegFile);
+    }
+    
+    @Benchmark
+    public List<SerializableCookie> parseCookies() {
+        return CookieManager.parseCookies(this.cookiesHeader);
+    }
+    
+    @Benchmark
+    public List<ElementoPost> extraerElementosPost() {
+        return PostUtils.extraerElementosPost(this.postText);
+    }
+    
+    @Benchmark
+    public ImageMetadata extractImageMetadataPng() {
+        return PostUtils.extractImageMetadata(this.pngFile.toString());
+    }
+    
+    @Benchmark
+    public ImageMetadata extractImageMetadataJpeg() {
+        return PostUtils.extractImageMetadata(this.jpegFile.toString());
+    }
+    
+    // Documento completo, como hacía getUrlMetadata antes del análisis incremental
+    @Benchmark
+    public Document parseHtmlDocument() {
+        return Jsoup.parse(this.html);
+    }
+    
+    @Benchmark
+    public Map<String, String> extractHtmlMetadata() {
+        return HtmlMetadataExtractor.parse(new StringReader(this.html), "");
+    }
+    
+    // Lectura de la cabecera sin pasar por la caché
+    @Benchmark
+    public ImageMetadata readImageMetadataJpeg() throws IOException {
+        return ImageMetadataExtractor.read(this.jpegFile, Files.size(this.jpegFile));
+    }
+}
@@ -0,0 +1,99 @@
+package com.laboratorio.clientapilibrary.benchmarks;
+
+import com.laboratorio.clientapilibrary.model.ApiMethodType;
+import com.laboratorio.clientapilibrary.model.ApiRequest;
+import com.laboratorio.clientapilibrary.model.ApiRequestTemplate;
+import com.laboratorio.clientapilibrary.transport.MultipartFormData;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Construcción de peticiones: parámetros de la query y cuerpo multipart/form-data.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBuildingBenchmark {
+    private ApiRequest queryRequest;
+    private ApiRequestTemplate queryTemplate;
+    private ApiRequest multipartRequest;
+    private Path imageFile;
+    
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.queryRequest = new ApiRequest("https://api.example.com/v1/statuses", 200, ApiMethodType.GET);
+        for (int i = 0; i < 10; i++) {
+            this.queryRequest.addApiPathParam("param" + i, "valor con espacios y acentos á é í " + i);
+        }
+        this.queryTemplate = new ApiRequestTemplate(this.queryRequest);
+        
+        this.imageFile = BenchmarkData.createImage("png", 640, 480);
+        this.multipartRequest = new ApiRequest("https://api.example.com/v1/media", 200, ApiMethodType.POST);
+        this.multipartRequest.addTextFormData("description", "Imagen de prueba para el benchmark");
+        this.multipartRequest.addJsonFormData("metadata", "{\"focus\":\"0.0,0.0\",\"sensitive\":false}");
+        this.multipartRequest.addFileFormData("file", this.imageFile.toString());
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.imageFile);
+    }
+    
+    @Benchmark
+    public String getQueryParams() {
+        return this.queryRequest.getQueryParams();
+    }
+    
+    // Petición completa construida desde cero en cada ejecución
+    @Benchmark
+    public String buildRequest() {
+        ApiRequest request = new ApiRequest("https://api.example.com/v1/statuses", 200, ApiMethodType.GET);
+        for (int i = 0; i < 10; i++) {
+            request.addApiPathParam("param" + i, "valor con espacios y acentos á é í " + i);
+        }
+        request.addApiPathParam("max_id", "113425987654321");
+        return request.getHost() + request.getQueryParams();
+    }
+    
+    // La misma petición desde una plantilla, variando solo el cursor
+    @Benchmark
+    public String buildFromTemplate() {
+        ApiRequest request = this.queryTemplate.newRequest("max_id", "113425987654321");
+        return request.getHost() + request.getQueryParams();
+    }
+    
+    @Benchmark
+    public long multipartContentLength() throws IOException {
+        return new MultipartFormData(this.multipartRequest).getContentLength();
+    }
+    
+    @Benchmark
+    public long multipartWrite() throws IOException {
+        MultipartFormData multipart = new MultipartFormData(this.multipartRequest);
+        multipart.writeTo(OutputStream.nullOutputStream(), null);
+        return multipart.getContentLength();
+    }
+}
@@ -1,54 +1,153 @@
 package com.laboratorio.clientapilibrary;
 
 import com.aayushatharva.brotli4j.Brotli4jLoader;
-import com.aayushatharva.brotli4j.decoder.BrotliInputStream;
+import com.laboratorio.clientapilibrary.cache.CacheEntry;
+import com.laboratorio.clientapilibrary.cache.ApiResponseCache;
+import com.laboratorio.clientapilibrary.exceptions.ApiCancelledException;
 import com.laboratorio.clientapilibrary.exceptions.ApiClientException;
-import com.laboratorio.clientapilibrary.model.ApiElement;
-import com.laboratorio.clientapilibrary.model.ApiElementType;
+import com.laboratorio.clientapilibrary.exceptions.ApiRejectedException;
+import com.laboratorio.clientapilibrary.exceptions.ApiTimeoutException;
+import com.laboratorio.clientapilibrary.metrics.ApiMetrics;
+import com.laboratorio.clientapilibrary.metrics.ApiTimingPhase;
+import com.laboratorio.clientapilibrary.metrics.MeteredInputStream;
+import com.laboratorio.clientapilibrary.model.ApiBatchConfig;
+import com.laboratorio.clientapilibrary.model.ApiProtocol;
 import com.laboratorio.clientapilibrary.model.ApiRequest;
+import com.laboratorio.clientapilibrary.model.ApiRequestResult;
 import com.laboratorio.clientapilibrary.model.ApiResponse;
-import com.laboratorio.clientapilibrary.model.ApiValueType;
-import com.laboratorio.clientapilibrary.utils.CookieManager;
-import com.laboratorio.clientapilibrary.utils.ImageMetadata;
-import com.laboratorio.clientapilibrary.utils.PostUtils;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
-import java.io.File;
-import java.io.FileInputStream;
+import com.laboratorio.clientapilibrary.model.ApiResponseHandler;
+import com.laboratorio.clientapilibrary.model.ApiRetryPolicy;
+import com.laboratorio.clientapilibrary.model.ApiStreamResponse;
+import com.laboratorio.clientapilibrary.transport.ExchangeControl;
+import com.laboratorio.clientapilibrary.transport.HttpClientTransport;
+import com.laboratorio.clientapilibrary.transport.HttpTransport;
+import com.laboratorio.clientapilibrary.transport.TransportOptions;
+import com.laboratorio.clientapilibrary.transport.TransportResponse;
+import com.laboratorio.clientapilibrary.transport.UrlConnectionTransport;
+import com.laboratorio.clientapilibrary.utils.BufferPool;
+import com.laboratorio.clientapilibrary.utils.Bulkhead;
+import com.laboratorio.clientapilibrary.utils.CircuitBreaker;
+import com.laboratorio.clientapilibrary.utils.ContentDecoder;
+import com.laboratorio.clientapilibrary.utils.ContentEncoder;
+import com.laboratorio.clientapilibrary.utils.CookieJar;
+import com.laboratorio.clientapilibrary.utils.RateLimiter;
+import com.laboratorio.clientapilibrary.utils.RetryBudget;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
-import java.net.URL;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import java.util.zip.GZIPInputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import lombok.Getter;
+import lombok.Setter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
  *
  * @author Rafael
- * @version 2.0
+ * @version 2.2
  * @created 06/09/2024
- * @updated 06/10/2024
+ * @updated 17/10/2026
  */
 public class ApiClient {
 
     private static final Logger log = LogManager.getLogger(ApiClient.class);
-    private final String LINE_FEED = "\r\n";
-    private String cookiesFilePath;
+    @Getter @Setter
+    private HttpTransport transport;
+    // Almacén de cookies que se envían y actualizan en cada petición (null para no gestionarlas)
+    @Getter @Setter
+    private CookieJar cookieJar;
+    // Caché de respuestas de las peticiones GET (null para desactivarla)
+    @Getter @Setter
+    private ApiResponseCache responseCache;
+    // Tiempos máximos para las peticiones que no indican los suyos (null sin límite). Con HttpClientTransport
+    // la conexión está limitada siempre a HttpClientTransport.DEFAULT_CONNECT_TIMEOUT (30 s)
+    @Getter @Setter
+    private Duration defaultConnectTimeout = Duration.ofSeconds(30);
+    @Getter @Setter
+    private Duration defaultReadTimeout;
+    @Getter @Setter
+    private Duration defaultTimeout;
+    // Política de reintentos para las peticiones que no indican la suya (null para no reintentar)
+    @Getter @Setter
+    private ApiRetryPolicy retryPolicy = new ApiRetryPolicy();
+    @Getter @Setter
+    private RetryBudget retryBudget = new RetryBudget();
+    // Limitador de peticiones por host y cuenta (null para no limitar)
+    @Getter @Setter
+    private RateLimiter rateLimiter;
+    // Aislamiento por host: cortocircuito y máximo de peticiones simultáneas (null para desactivarlos)
+    @Getter @Setter
+    private CircuitBreaker circuitBreaker;
+    @Getter @Setter
+    private Bulkhead bulkhead;
+    // Receptor de métricas de las peticiones (null para no medirlas)
+    @Getter @Setter
+    private ApiMetrics metrics;
+    // Anuncia en Accept-Encoding las codificaciones de ContentDecoder si la petición no lo indica
+    @Getter @Setter
+    private boolean acceptEncoding = true;
+    // Versión de HTTP para las peticiones que no indican la suya (null para la del transporte). Con HTTP/2
+    // las peticiones concurrentes a un host comparten una conexión y, si el servidor no lo admite, se usa HTTP/1.1
+    @Getter @Setter
+    private ApiProtocol protocol;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    
+    // Un único hilo compartido aborta las peticiones que superan su plazo total
+    private static class WatchdogHolder {
+        private static final ScheduledThreadPoolExecutor INSTANCE = createWatchdog();
+        
+        private static ScheduledThreadPoolExecutor createWatchdog() {
+            ScheduledThreadPoolExecutor watchdog = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "apiclient-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            watchdog.setRemoveOnCancelPolicy(true);
+            return watchdog;
+        }
+    }
 
     public ApiClient() {
-        Brotli4jLoader.ensureAvailability();
+        this(null, new HttpClientTransport());
     }
 
     public ApiClient(String cookiesFilePath) {
+        this(cookiesFilePath, new HttpClientTransport());
+    }
+    
+    public ApiClient(HttpTransport transport) {
+        this(null, transport);
+    }
+    
+    public ApiClient(String cookiesFilePath, HttpTransport transport) {
         Brotli4jLoader.ensureAvailability();
-        this.cookiesFilePath = cookiesFilePath;
+        this.cookieJar = (cookiesFilePath == null) ? null : CookieJar.forFile(cookiesFilePath);
+        this.transport = transport;
     }
 
     private void logException(Exception e) {
@@ -61,318 +160,820 @@ public class ApiClient {
         }
     }
 
-    // Procesar la respuesta HTTP
-    private String processResponse(String contentEncoding, byte[] responseBytes) throws IOException {
-        InputStream inputStream = null;
-
-        try {
-            // Si la respuesta está codificada como Brotli (br)
-            if ("br".equalsIgnoreCase(contentEncoding)) {
-                inputStream = new BrotliInputStream(new ByteArrayInputStream(responseBytes));
-                byte[] decompressedBytes = inputStream.readAllBytes();
-                return new String(decompressedBytes, StandardCharsets.UTF_8);
-            } else {
-                if ("gzip".equalsIgnoreCase(contentEncoding)) {
-                    inputStream = new GZIPInputStream(new ByteArrayInputStream(responseBytes));
-                    byte[] decompressedBytes = inputStream.readAllBytes();
-                    return new String(decompressedBytes, StandardCharsets.UTF_8);
-                } else {
-                    return new String(responseBytes, StandardCharsets.UTF_8);
-                }
+    // Se descomprime el cuerpo al vuelo mientras se lee, sin copias intermedias
+    private String getHttpResponse(ApiRequest request, TransportOptions options, TransportResponse response) throws IOException {
+        InputStream inputStream = response.getBody();
+        if (inputStream == null) {
+            return "";
+        }
+        
+        // Con métricas se mide la lectura de red por debajo del descompresor
+        ApiMetrics apiMetrics = this.metrics;
+        MeteredInputStream metered = (apiMetrics == null) ? null : new MeteredInputStream(inputStream);
+        long start = System.nanoTime();
+        
+        try (InputStream decoded = ContentDecoder.decode(response.getHeader("Content-Encoding"), (metered == null) ? inputStream : metered)) {
+            // Si hay que descomprimir, el Content-Length no indica el tamaño final
+            byte[] body = BufferPool.readAllBytes(decoded, (decoded == inputStream) ? response.getContentLength() : -1);
+            if (metered != null) {
+                this.recordBody(apiMetrics, request, options, response, metered, System.nanoTime() - start);
             }
+            return new String(body, ContentDecoder.getCharset(response.getHeader("Content-Type")));
         } catch (IOException e) {
             log.error("Error procesando la respuesta recibida para la solicitud");
             throw e;
-        } finally {
-            try {
-                if (inputStream != null) {
-                    inputStream.close();
-                }
-            } catch (Exception e) {
-                log.warn("Error liberando los recursos: " + e.getMessage());
+        }
+    }
+    
+    // Se lee el cuerpo tal y como llega. La descompresión queda para cuando se consulte
+    private byte[] getRawHttpResponse(ApiRequest request, TransportOptions options, TransportResponse response) throws IOException {
+        InputStream inputStream = response.getBody();
+        if (inputStream == null) {
+            return new byte[0];
+        }
+        
+        ApiMetrics apiMetrics = this.metrics;
+        MeteredInputStream metered = (apiMetrics == null) ? null : new MeteredInputStream(inputStream);
+        
+        try (InputStream body = (metered == null) ? inputStream : metered) {
+            byte[] raw = BufferPool.readAllBytes(body, response.getContentLength());
+            if (metered != null) {
+                this.recordBody(apiMetrics, request, options, response, metered, -1);
             }
+            return raw;
+        } catch (IOException e) {
+            log.error("Error procesando la respuesta recibida para la solicitud");
+            throw e;
         }
     }
 
-    private byte[] readInputStreamAsBytes(InputStream inputStream) throws IOException {
-        ByteArrayOutputStream byteArrayOutputStream = null;
+    private void recordBody(ApiMetrics apiMetrics, ApiRequest request, TransportOptions options, TransportResponse response, 
+            MeteredInputStream metered, long elapsed) {
+        String host = request.getHost();
+        // Si el transporte ya recibió el cuerpo completo, la lectura de red es la espera hasta tenerlo
+        long readNanos = ((options.getBodyReceivedAt() > 0) && (options.getHeadersReceivedAt() > 0)) 
+                ? options.getBodyReceivedAt() - options.getHeadersReceivedAt() : metered.getReadNanos();
+        apiMetrics.onTiming(host, request.getMethod(), ApiTimingPhase.BODY_READ, readNanos);
+        if ((elapsed >= 0) && (response.getHeader("Content-Encoding") != null)) {
+            apiMetrics.onTiming(host, request.getMethod(), ApiTimingPhase.DECOMPRESSION, elapsed - metered.getReadNanos());
+        }
+        // Las respuestas servidas desde la caché no pasan por la red
+        if (options.getBytesSent() >= 0) {
+            apiMetrics.onBytes(host, request.getMethod(), options.getBytesSent(), metered.getBytesRead());
+        }
+    }
+    
+    // Se anota el inicio o el fin de una petición en vuelo contra el host
+    private void trackInFlight(ApiRequest request, int delta) {
+        ApiMetrics apiMetrics = this.metrics;
+        if (apiMetrics != null) {
+            String host = request.getHost();
+            int current = this.inFlight.computeIfAbsent(host, h -> new AtomicInteger()).addAndGet(delta);
+            apiMetrics.onInFlight(host, current);
+        }
+    }
+    
+    private void recordExchange(ApiRequest request, TransportOptions options, long sendStart, TransportResponse response) {
+        ApiMetrics apiMetrics = this.metrics;
+        if (apiMetrics == null) {
+            return;
+        }
+        
+        String host = request.getHost();
+        if (options.getConnectNanos() >= 0) {
+            apiMetrics.onTiming(host, request.getMethod(), ApiTimingPhase.CONNECT, options.getConnectNanos());
+        }
+        long headersAt = (options.getHeadersReceivedAt() > 0) ? options.getHeadersReceivedAt() : System.nanoTime();
+        apiMetrics.onTiming(host, request.getMethod(), ApiTimingPhase.TIME_TO_FIRST_BYTE, headersAt - sendStart);
+        apiMetrics.onStatus(host, request.getMethod(), response.getStatusCode());
+    }
+    
+    private void recordTotal(ApiRequest request, long start, Throwable error) {
+        ApiMetrics apiMetrics = this.metrics;
+        if (apiMetrics != null) {
+            apiMetrics.onTiming(request.getHost(), request.getMethod(), ApiTimingPhase.TOTAL, System.nanoTime() - start);
+            if (error instanceof ApiClientException e) {
+                apiMetrics.onError(request.getHost(), request.getMethod(), e);
+            }
+        }
+    }
 
-        try {
-            byteArrayOutputStream = new ByteArrayOutputStream();
-            byte[] buffer = new byte[4096];
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                byteArrayOutputStream.write(buffer, 0, bytesRead);
+    private void processResponseCookies(ApiRequest request, TransportResponse response) {
+        List<String> cookiesHeader = response.getHeaderValues("Set-Cookie");
+
+        // Se actualiza el almacén de cookies; la escritura en disco se hace en segundo plano
+        if ((this.cookieJar != null) && (cookiesHeader != null)) {
+            this.cookieJar.addCookies(request.getUri(), cookiesHeader);
+        }
+    }
+    
+    // Las opciones del intento anterior, si lo hay, aportan el payload ya comprimido
+    private TransportOptions getTransportOptions(ApiRequest request, TransportOptions previous) {
+        TransportOptions options = new TransportOptions();
+        options.setConnectTimeout((request.getConnectTimeout() != null) ? request.getConnectTimeout() : this.defaultConnectTimeout);
+        options.setReadTimeout((request.getReadTimeout() != null) ? request.getReadTimeout() : this.defaultReadTimeout);
+        
+        options.setProtocol((request.getProtocol() != null) ? request.getProtocol() : this.protocol);
+        if ((request.getPriority() != null) && !request.hasApiHeader("Priority")) {
+            options.setHeader("Priority", "u=" + Math.max(0, Math.min(7, request.getPriority())));
+        }
+        if (previous != null) {
+            if (previous.getEncodedPayload() != null) {
+                options.setEncodedPayload(previous.getEncodedPayload());
+                options.setHeader("Content-Encoding", previous.getHeaders().get("Content-Encoding"));
             }
-            return byteArrayOutputStream.toByteArray();
-        } catch (IOException e) {
-            throw e;
-        } finally {
-            try {
-                if (byteArrayOutputStream != null) {
-                    byteArrayOutputStream.close();
-                }
-            } catch (Exception e) {
-                log.warn("Error liberando los recursos: " + e.getMessage());
+        } else {
+            this.encodePayload(request, options);
+        }
+        
+        if (this.acceptEncoding && !request.hasApiHeader("Accept-Encoding")) {
+            options.setHeader("Accept-Encoding", ContentDecoder.getAcceptEncoding());
+        }
+        
+        // Se agregan las cookies del almacén que correspondan a la uri
+        if (this.cookieJar != null) {
+            String cookieHeader = this.cookieJar.getCookieHeader(request.getUri(), request.getUnmodifiableCookies());
+            if (cookieHeader != null) {
+                options.setHeader("Cookie", cookieHeader);
             }
         }
+        
+        return options;
     }
 
-    private String getHttpResponse(HttpURLConnection httpConn) throws IOException {
-        InputStream inputStream = null;
+    // Comprime el payload JSON si la petición lo pide y supera el umbral
+    private void encodePayload(ApiRequest request, TransportOptions options) {
+        String encoding = request.getPayloadEncoding();
+        if ((encoding == null) || (request.getPayload() == null)) {
+            return;
+        }
+        
+        byte[] payload = request.getPayload().getBytes(StandardCharsets.UTF_8);
+        if (payload.length < request.getPayloadCompressionThreshold()) {
+            return;
+        }
+        
+        byte[] encoded = ContentEncoder.encode(encoding, payload);
+        // Si no se reduce el tamaño se envía sin comprimir
+        if (encoded.length < payload.length) {
+            options.setEncodedPayload(encoded);
+            options.setHeader("Content-Encoding", encoding.trim().toLowerCase());
+            log.debug(String.format("Cuerpo comprimido con %s: %d -> %d bytes", encoding, payload.length, encoded.length));
+        }
+    }
 
-        // Se procesa la respuesta
+    private long getDeadline(ApiRequest request) {
+        Duration timeout = (request.getTimeout() != null) ? request.getTimeout() : this.defaultTimeout;
+        return (timeout == null) ? Long.MAX_VALUE : System.nanoTime() + timeout.toNanos();
+    }
+    
+    // Programa el aborto de la petición al vencer el plazo y lo enlaza con su token de cancelación.
+    // Devuelve la acción que los libera cuando la respuesta se ha procesado
+    private Runnable watch(ApiRequest request, TransportOptions options, long deadline) {
+        ExchangeControl control = options.getControl();
+        Runnable unregister = (request.getCancellationToken() == null) ? () -> {} 
+                : request.getCancellationToken().register(() -> control.abort(ExchangeControl.AbortReason.CANCELLED));
+        if (deadline == Long.MAX_VALUE) {
+            return unregister;
+        }
+        
+        ScheduledFuture<?> timer = WatchdogHolder.INSTANCE.schedule(() -> control.abort(ExchangeControl.AbortReason.TIMEOUT), 
+                Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        return () -> {
+            timer.cancel(false);
+            unregister.run();
+        };
+    }
+    
+    // Devuelve la espera en nanosegundos antes de reintentar, o -1 si el resultado del intento es definitivo
+    private long getRetryDelay(ApiRequest request, TransportOptions options, int attempt, long deadline, 
+            TransportResponse response, Throwable error) {
+        ApiRetryPolicy policy = (request.getRetryPolicy() != null) ? request.getRetryPolicy() : this.retryPolicy;
+        if (policy == null) {
+            return -1L;
+        }
+        
+        String retryAfter = null;
+        if (response != null) {
+            if (!policy.isRetryableStatus(response.getStatusCode()) || (response.getStatusCode() == request.getOkResponse())) {
+                this.retryBudget.recordSuccess();
+                return -1L;
+            }
+            retryAfter = response.getHeader("Retry-After");
+        } else {
+            // Solo se reintentan los errores de red, no los plazos vencidos ni las cancelaciones
+            while (((error instanceof CompletionException) || (error instanceof UncheckedIOException)) && (error.getCause() != null)) {
+                error = error.getCause();
+            }
+            if (!(error instanceof IOException) || options.getControl().isAborted()) {
+                return -1L;
+            }
+        }
+        
+        boolean allowed = this.retryBudget.recordFailure();
+        if ((attempt >= policy.getMaxAttempts()) || !policy.canRetry(request.getMethod())) {
+            return -1L;
+        }
+        if (!allowed) {
+            log.warn("Se agotó el presupuesto de reintentos, no se reintenta la solicitud: " + request.getUri());
+            return -1L;
+        }
+        
+        long delay = policy.getBackoffNanos(attempt);
+        Duration serverDelay = ApiRetryPolicy.parseRetryAfter(retryAfter);
+        if (serverDelay != null) {
+            if (serverDelay.compareTo(policy.getMaxRetryAfter()) > 0) {
+                return -1L;
+            }
+            delay = Math.max(delay, serverDelay.toNanos());
+        }
+        if ((deadline != Long.MAX_VALUE) && (deadline - System.nanoTime() <= delay)) {
+            return -1L;
+        }
+        
+        log.warn(String.format("Se reintentará la solicitud %s (intento %d de %d) en %d ms", request.getUri(), 
+                attempt + 1, policy.getMaxAttempts(), TimeUnit.NANOSECONDS.toMillis(delay)));
+        if (this.metrics != null) {
+            this.metrics.onRetry(request.getHost(), request.getMethod());
+        }
+        return delay;
+    }
+    
+    // Espera el tiempo indicado; la cancelación de la petición interrumpe la espera
+    private void pause(ApiRequest request, long delay) {
+        Thread thread = Thread.currentThread();
+        Runnable unregister = (request.getCancellationToken() == null) ? () -> {} 
+                : request.getCancellationToken().register(() -> LockSupport.unpark(thread));
+        
         try {
-            String contentEncoding = httpConn.getHeaderField("Content-Encoding");
-            inputStream = httpConn.getInputStream();
-            if (inputStream == null) {
-                return "";
+            long end = System.nanoTime() + delay;
+            long remaining;
+            while (((remaining = end - System.nanoTime()) > 0) 
+                    && ((request.getCancellationToken() == null) || !request.getCancellationToken().isCancelled())) {
+                LockSupport.parkNanos(remaining);
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new ApiClientException(ApiClient.class.getName(), "Se interrumpió la espera de la solicitud: " + request.getUri());
+                }
             }
-            byte[] responseBytes = readInputStreamAsBytes(inputStream);
+        } finally {
+            unregister.run();
+        }
+    }
+    
+    private void recordQueue(ApiRequest request, long wait) {
+        if ((this.metrics != null) && (this.rateLimiter != null)) {
+            this.metrics.onTiming(request.getHost(), request.getMethod(), ApiTimingPhase.QUEUE, wait);
+        }
+    }
+    
+    private void checkNotAborted(ApiRequest request, TransportOptions options) throws IOException {
+        if (options.getControl().isAborted()) {
+            throw new IOException("Se abortó la solicitud antes de enviarla: " + request.getUri());
+        }
+    }
 
-            return processResponse(contentEncoding, responseBytes);
-        } catch (IOException e) {
+    // Reserva turno en el limitador. Devuelve la espera en nanosegundos
+    private long reservePermit(ApiRequest request, long deadline) {
+        if (this.rateLimiter == null) {
+            return 0L;
+        }
+        
+        long wait = this.rateLimiter.reserve(request, (deadline == Long.MAX_VALUE) ? Long.MAX_VALUE : deadline - System.nanoTime());
+        if (wait < 0) {
+            throw new ApiTimeoutException(ApiClient.class.getName(), "Se superaría el tiempo máximo esperando turno del limitador para: " + request.getUri());
+        }
+        
+        return wait;
+    }
+    
+    // Reserva hueco en el bulkhead y comprueba el circuito del host. Devuelve la acción que libera el hueco
+    private Runnable acquireHost(ApiRequest request) {
+        String host = request.getHost();
+        Runnable release = () -> {};
+        Bulkhead hostBulkhead = this.bulkhead;
+        if (hostBulkhead != null) {
+            if (!hostBulkhead.tryAcquire(host)) {
+                throw new ApiRejectedException(ApiClient.class.getName(), "Se alcanzó el máximo de peticiones simultáneas contra el host: " + host);
+            }
+            release = () -> hostBulkhead.release(host);
+        }
+        
+        if ((this.circuitBreaker != null) && !this.circuitBreaker.tryAcquire(host)) {
+            release.run();
+            throw new ApiRejectedException(ApiClient.class.getName(), "El circuito del host está abierto, se rechaza la solicitud: " + request.getUri());
+        }
+        
+        return release;
+    }
+    
+    // Los errores de red y las respuestas 5xx cuentan como fallos del host; los abortos no cuentan
+    private void recordHostResult(ApiRequest request, TransportOptions options, TransportResponse response, Throwable error) {
+        CircuitBreaker breaker = this.circuitBreaker;
+        if (breaker == null) {
+            return;
+        }
+        
+        while (((error instanceof CompletionException) || (error instanceof UncheckedIOException)) && (error.getCause() != null)) {
+            error = error.getCause();
+        }
+        if (response != null) {
+            if (response.getStatusCode() >= 500) {
+                breaker.onFailure(request.getHost());
+            } else {
+                breaker.onSuccess(request.getHost());
+            }
+        } else if ((error instanceof IOException) && !options.getControl().isAborted()) {
+            breaker.onFailure(request.getHost());
+        } else {
+            breaker.onIgnored(request.getHost());
+        }
+    }
+    
+    private TransportResponse sendToTransport(ApiRequest request, TransportOptions options, long deadline) throws IOException {
+        Runnable hostRelease = this.acquireHost(request);
+        this.trackInFlight(request, 1);
+        Runnable release = () -> {
+            this.trackInFlight(request, -1);
+            hostRelease.run();
+        };
+        TransportResponse response;
+        long sendStart;
+        
+        try {
+            long wait = this.reservePermit(request, deadline);
+            if (wait > 0) {
+                this.pause(request, wait);
+                this.checkNotAborted(request, options);
+            }
+            sendStart = System.nanoTime();
+            this.recordQueue(request, wait);
+            response = this.transport.send(request, options);
+        } catch (IOException | RuntimeException e) {
+            this.recordHostResult(request, options, null, e);
+            release.run();
             throw e;
-        } finally {
+        }
+        
+        this.recordHostResult(request, options, response, null);
+        this.recordExchange(request, options, sendStart, response);
+        if (this.rateLimiter != null) {
+            this.rateLimiter.update(request, response);
+        }
+        
+        // El hueco del bulkhead se mantiene hasta que se termina de leer la respuesta
+        final TransportResponse transportResponse = response;
+        return new TransportResponse(response.getStatusCode(), response.getHeaders(), response.getBody(), () -> {
             try {
-                if (inputStream != null) {
-                    inputStream.close();
+                if (transportResponse.getOnClose() != null) {
+                    transportResponse.getOnClose().close();
                 }
-            } catch (Exception e) {
-                log.warn("Error liberando los recursos: " + e.getMessage());
+            } finally {
+                release.run();
             }
+        }, response.getProtocol());
+    }
+    
+    private CompletableFuture<TransportResponse> sendToTransportAsync(ApiRequest request, TransportOptions options, 
+            Executor executor, long deadline) {
+        Runnable release = this.acquireHost(request);
+        this.trackInFlight(request, 1);
+        CompletableFuture<TransportResponse> sending;
+        try {
+            sending = this.sendWithPermitAsync(request, options, executor, deadline);
+        } catch (RuntimeException e) {
+            this.recordHostResult(request, options, null, e);
+            this.trackInFlight(request, -1);
+            release.run();
+            throw e;
         }
+        
+        // En modo asíncrono el cuerpo ya se ha recibido completo al terminar el envío
+        return sending.whenComplete((response, error) -> {
+            this.recordHostResult(request, options, response, error);
+            this.trackInFlight(request, -1);
+            release.run();
+        });
+    }
+    
+    private CompletableFuture<TransportResponse> sendWithPermitAsync(ApiRequest request, TransportOptions options, 
+            Executor executor, long deadline) {
+        long wait = this.reservePermit(request, deadline);
+        long sendStart = System.nanoTime() + wait;
+        this.recordQueue(request, wait);
+        CompletableFuture<TransportResponse> sending;
+        if (wait > 0) {
+            // Se espera el turno sin bloquear ningún hilo
+            Executor delayed = (executor != null) ? CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS, executor)
+                    : CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS);
+            sending = CompletableFuture.runAsync(() -> {}, delayed)
+                    .thenCompose(v -> options.getControl().isAborted() 
+                            ? CompletableFuture.failedFuture(new IOException("Se abortó la solicitud antes de enviarla: " + request.getUri()))
+                            : this.transport.sendAsync(request, options, executor));
+        } else {
+            sending = this.transport.sendAsync(request, options, executor);
+        }
+        
+        return sending.thenApply(response -> {
+            this.recordExchange(request, options, sendStart, response);
+            if (this.rateLimiter != null) {
+                this.rateLimiter.update(request, response);
+            }
+            return response;
+        });
     }
 
-    private void processResponseCookies(HttpURLConnection httpConn) {
-        List<String> cookiesHeader = httpConn.getHeaderFields().get("Set-Cookie");
-
-        // Almacena las cookies de la respuesta si es necesario
-        if ((this.cookiesFilePath != null) && (cookiesHeader != null)) {
-            CookieManager.saveCookies(this.cookiesFilePath, cookiesHeader);
+    // Envía la petición consultando antes la caché de respuestas, si está activa
+    private TransportResponse send(ApiRequest request, TransportOptions options, long deadline) throws IOException {
+        this.checkNotAborted(request, options);
+        ApiResponseCache cache = this.responseCache;
+        if ((cache == null) || !cache.isCacheable(request)) {
+            return this.sendToTransport(request, options, deadline);
+        }
+        
+        CacheEntry entry = cache.lookup(request, options);
+        if (entry != null) {
+            if (cache.canServeWithoutValidation(request, entry)) {
+                return cache.hit(entry);
+            }
+            cache.addConditionalHeaders(entry, options);
+        }
+        
+        return cache.process(request, options, entry, this.sendToTransport(request, options, deadline));
+    }
+    
+    private CompletableFuture<TransportResponse> sendAsync(ApiRequest request, TransportOptions options, Executor executor, 
+            long deadline) throws IOException {
+        this.checkNotAborted(request, options);
+        ApiResponseCache cache = this.responseCache;
+        if ((cache == null) || !cache.isCacheable(request)) {
+            return this.sendToTransportAsync(request, options, executor, deadline);
         }
+        
+        CacheEntry entry = cache.lookup(request, options);
+        if (entry != null) {
+            if (cache.canServeWithoutValidation(request, entry)) {
+                return CompletableFuture.completedFuture(cache.hit(entry));
+            }
+            cache.addConditionalHeaders(entry, options);
+        }
+        
+        return this.sendToTransportAsync(request, options, executor, deadline).thenApply(response -> {
+            try {
+                return cache.process(request, options, entry, response);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
-    public ApiResponse executeApiRequest(ApiRequest request) {
-        HttpURLConnection httpConn = null;
+    private ApiResponse processTransportResponse(ApiRequest request, TransportOptions options, TransportResponse response) throws IOException {
         String uri = request.getUri() + request.getQueryParams();
+        int responseCode = response.getStatusCode();
 
+        if (responseCode != request.getOkResponse()) {
+            String str = String.format("Respuesta del error %d. Detalle: %s", responseCode, this.getHttpResponse(request, options, response));
+            throw new ApiClientException(ApiClient.class.getName(), str);
+        }
+
+        // Se procesa la respuesta sin descomprimir ni decodificar el cuerpo
+        ApiResponse apiResponse = new ApiResponse(response.getHeaders(), response.getHeaderValues("Set-Cookie"), 
+                response.getHeader("Content-Type"), response.getHeader("Content-Encoding"), this.getRawHttpResponse(request, options, response));
+        apiResponse.setProtocol(response.getProtocol());
+        
+        log.debug("Se ejecutó la solicitud: " + uri);
+        log.debug("Response Code de la solicitud: " + responseCode);
+        if (log.isDebugEnabled()) {
+            log.debug("Respuesta recibida: " + apiResponse.getResponseStr());
+        }
+
+        this.processResponseCookies(request, response);
+
+        return apiResponse;
+    }
+    
+    private ApiClientException toApiClientException(ApiRequest request, Throwable t) {
+        return this.toApiClientException(request, null, t);
+    }
+    
+    private ApiClientException toApiClientException(ApiRequest request, TransportOptions options, Throwable t) {
+        // Se desenvuelven las excepciones de los CompletableFuture
+        while (((t instanceof CompletionException) || (t instanceof ExecutionException) 
+                || (t instanceof UncheckedIOException)) && (t.getCause() != null)) {
+            t = t.getCause();
+        }
+        
+        log.error("Error ejecutando la solicitud: " + request.getUri() + request.getQueryParams());
+        if (t instanceof Exception e) {
+            logException(e);
+        } else {
+            log.error("Error: " + t.getMessage());
+        }
+        
+        if (t instanceof ApiClientException e) {
+            return e;
+        }
+        
+        // Si la petición se abortó, el error del transporte es solo la consecuencia
+        ExchangeControl.AbortReason reason = (options == null) ? null : options.getControl().getAbortReason();
+        if (reason == ExchangeControl.AbortReason.TIMEOUT) {
+            return new ApiTimeoutException(ApiClient.class.getName(), "Se superó el tiempo máximo de la solicitud: " + request.getUri());
+        }
+        if (reason == ExchangeControl.AbortReason.CANCELLED) {
+            return new ApiCancelledException(ApiClient.class.getName(), "Se canceló la solicitud: " + request.getUri());
+        }
+        
+        // Algunas excepciones de red de HttpClient no tienen mensaje
+        String message = (t.getMessage() != null) ? t.getMessage() : t.toString();
+        if ((t instanceof HttpTimeoutException) || (t instanceof SocketTimeoutException)) {
+            return new ApiTimeoutException(ApiClient.class.getName(), message);
+        }
+        
+        return new ApiClientException(ApiClient.class.getName(), message);
+    }
+
+    public ApiResponse executeApiRequest(ApiRequest request) {
+        return this.executeApiRequest(request, this.getDeadline(request));
+    }
+    
+    private ApiResponse executeApiRequest(ApiRequest request, long deadline) {
+        long start = System.nanoTime();
         try {
-            URL url = new URL(request.getUri() + request.getQueryParams());
-            httpConn = (HttpURLConnection) url.openConnection();
-            httpConn.setUseCaches(false);
-            httpConn.setDoOutput(true); // habilita salida
-            httpConn.setDoInput(true);  // habilita entrada
-            httpConn.setRequestMethod(request.getMethod().name());
+            ApiResponse response = this.executeWithRetries(request, deadline);
+            this.recordTotal(request, start, null);
+            return response;
+        } catch (RuntimeException e) {
+            this.recordTotal(request, start, e);
+            throw e;
+        }
+    }
+    
+    // El plazo total incluye todos los intentos y la lectura completa del cuerpo
+    private ApiResponse executeWithRetries(ApiRequest request, long deadline) {
+        TransportOptions options = null;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                options = this.getTransportOptions(request, options);
+            } catch (RuntimeException e) {
+                throw this.toApiClientException(request, e);
+            }
+            Runnable release = this.watch(request, options, deadline);
+            long delay;
 
-            // Se agregan las cabeceras a la petición
-            for (ApiElement element : request.getElements()) {
-                if (element.getType() == ApiElementType.HEADER) {
-                    httpConn.setRequestProperty(element.getName(), element.getValue());
-                    log.debug(element.getName() + ": " + element.getValue());
+            try (TransportResponse response = this.send(request, options, deadline)) {
+                delay = this.getRetryDelay(request, options, attempt, deadline, response, null);
+                if (delay < 0) {
+                    return this.processTransportResponse(request, options, response);
+                }
+            } catch (Exception e) {
+                delay = this.getRetryDelay(request, options, attempt, deadline, null, e);
+                if (delay < 0) {
+                    throw this.toApiClientException(request, options, e);
                 }
+            } finally {
+                release.run();
             }
-
-            // Se agregan las cookies a la petición
-            for (String cookie : request.getCookies()) {
-                httpConn.setRequestProperty("Cookie", cookie);
+            
+            this.pause(request, delay);
+        }
+    }
+    
+    public CompletableFuture<ApiResponse> executeApiRequestAsync(ApiRequest request) {
+        return this.executeApiRequestAsync(request, null);
+    }
+    
+    // El procesamiento de la respuesta se realiza en el executor indicado, si lo hay.
+    // El future se completa con una ApiClientException en los mismos casos que executeApiRequest.
+    // Cancelar el future devuelto aborta la petición en curso. Los reintentos siguen la misma política
+    public CompletableFuture<ApiResponse> executeApiRequestAsync(ApiRequest request, Executor executor) {
+        CompletableFuture<ApiResponse> result = new CompletableFuture<>();
+        AtomicReference<TransportOptions> current = new AtomicReference<>();
+        long start = System.nanoTime();
+        result.whenComplete((response, error) -> {
+            this.recordTotal(request, start, error);
+            TransportOptions options = current.get();
+            if (result.isCancelled() && (options != null)) {
+                options.getControl().abort(ExchangeControl.AbortReason.CANCELLED);
             }
-
-            // Se contruye el body de la petición
-            if (request.getPayload() != null) {         // El cuerpo es un JSON
-                this.processJsonBody(httpConn, request);
-            } else {
-                if (request.getBinaryFile() != null) {  // El cuerpo es un fichero binario
-                    this.processBinaryBody(httpConn, request);
+        });
+        
+        this.executeAttemptAsync(request, executor, result, current, 1, this.getDeadline(request));
+        return result;
+    }
+    
+    private void executeAttemptAsync(ApiRequest request, Executor executor, CompletableFuture<ApiResponse> result, 
+            AtomicReference<TransportOptions> current, int attempt, long deadline) {
+        TransportOptions options;
+        try {
+            options = this.getTransportOptions(request, current.get());
+        } catch (RuntimeException e) {
+            result.completeExceptionally(this.toApiClientException(request, e));
+            return;
+        }
+        current.set(options);
+        if (result.isDone()) {
+            return;
+        }
+        
+        Runnable release = this.watch(request, options, deadline);
+        CompletableFuture<TransportResponse> sending;
+        try {
+            sending = this.sendAsync(request, options, executor, deadline);
+        } catch (Exception e) {
+            release.run();
+            result.completeExceptionally(this.toApiClientException(request, options, e));
+            return;
+        }
+        
+        BiConsumer<TransportResponse, Throwable> completion = (response, error) -> {
+            long delay;
+            try {
+                if (error != null) {
+                    delay = this.getRetryDelay(request, options, attempt, deadline, null, error);
+                    if (delay < 0) {
+                        result.completeExceptionally(this.toApiClientException(request, options, error));
+                        return;
+                    }
                 } else {
-                    if (request.isFormData()) {         // El cuerpo es un FormData
-                        this.processMultipartFormBody(httpConn, request);
+                    try (response) {
+                        delay = this.getRetryDelay(request, options, attempt, deadline, response, null);
+                        if (delay < 0) {
+                            result.complete(this.processTransportResponse(request, options, response));
+                            return;
+                        }
+                    } catch (Exception e) {
+                        result.completeExceptionally(this.toApiClientException(request, options, e));
+                        return;
                     }
                 }
+            } finally {
+                release.run();
             }
+            
+            // El reintento se programa sin bloquear ningún hilo durante la espera
+            Executor delayed = (executor != null) ? CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, executor)
+                    : CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS);
+            delayed.execute(() -> this.executeAttemptAsync(request, executor, result, current, attempt + 1, deadline));
+        };
+        
+        if (executor != null) {
+            sending.whenCompleteAsync(completion, executor);
+        } else {
+            sending.whenComplete(completion);
+        }
+    }
 
-            // Se ejecuta la petición
-            int responseCode = httpConn.getResponseCode();
-
-            // Se procesa la respuesta
-            String responseStr = this.getHttpResponse(httpConn);
-
+    // Ejecuta la petición y devuelve el cuerpo sin cargarlo en memoria. El llamante debe cerrar la respuesta.
+    // El plazo total sigue vigente hasta que se cierra
+    public ApiStreamResponse executeApiRequestStream(ApiRequest request) {
+        TransportOptions options;
+        try {
+            options = this.getTransportOptions(request, null);
+        } catch (RuntimeException e) {
+            throw this.toApiClientException(request, e);
+        }
+        long deadline = this.getDeadline(request);
+        Runnable release = this.watch(request, options, deadline);
+        TransportResponse response = null;
+        
+        try {
+            this.checkNotAborted(request, options);
+            response = this.sendToTransport(request, options, deadline);
+            int responseCode = response.getStatusCode();
+            
             if (responseCode != request.getOkResponse()) {
-                String str = String.format("Respuesta del error %d:. Detalle: ", responseCode, responseStr);
+                String str = String.format("Respuesta del error %d. Detalle: %s", responseCode, this.getHttpResponse(request, options, response));
                 throw new ApiClientException(ApiClient.class.getName(), str);
             }
-
-            // Se procesa la respuesta
-            log.debug("Se ejecutó la solicitud: " + uri);
+            
+            log.debug("Se ejecutó la solicitud en streaming: " + request.getUri() + request.getQueryParams());
             log.debug("Response Code de la solicitud: " + responseCode);
-            log.debug("Respuesta recibida: " + responseStr);
             
-            this.processResponseCookies(httpConn);
-
-            return new ApiResponse(httpConn.getHeaderFields(), httpConn.getHeaderFields().get("Set-Cookie"), responseStr);
+            this.processResponseCookies(request, response);
+            
+            InputStream decoded = ContentDecoder.decode(response.getHeader("Content-Encoding"), response.getBody());
+            final TransportResponse transportResponse = response;
+            return new ApiStreamResponse(responseCode, response.getHeaders(), response.getHeaderValues("Set-Cookie"),
+                    response.getHeader("Content-Type"), decoded, () -> {
+                        try {
+                            transportResponse.close();
+                        } finally {
+                            release.run();
+                        }
+                    });
         } catch (Exception e) {
-            log.error("Error ejecutando la solicitud: " + uri);
-            logException(e);
-            throw new ApiClientException(ApiClient.class.getName(), e.getMessage());
-        } finally {
-            try {
-                if (httpConn != null) {
-                    httpConn.disconnect();
+            if (response != null) {
+                try {
+                    response.close();
+                } catch (Exception ex) {
+                    log.warn("Error liberando los recursos: " + ex.getMessage());
                 }
-            } catch (Exception e) {
-                log.warn("Error liberando los recursos: " + e.getMessage());
             }
+            release.run();
+            throw this.toApiClientException(request, options, e);
         }
     }
-
-    private void processJsonBody(HttpURLConnection httpConn, ApiRequest request) throws IOException {
-        OutputStream os = null;
-
-        httpConn.setRequestProperty("Content-Type", "application/json");
-
-        try {
-            // Enviar el cuerpo JSON
-            byte[] input = request.getPayload().getBytes(StandardCharsets.UTF_8);
-            httpConn.setRequestProperty("Content-Length", String.valueOf(input.length));
-            os = httpConn.getOutputStream();
-            os.write(input, 0, input.length);
-        } catch (IOException e) {
-            log.error("Error enviando el cuerpo de la solicitud: " + request.getUri());
+    
+    // Ejecuta la petición y entrega el cuerpo en streaming al handler. La respuesta se cierra al terminar
+    public <T> T executeApiRequest(ApiRequest request, ApiResponseHandler<T> handler) {
+        try (ApiStreamResponse response = this.executeApiRequestStream(request)) {
+            return handler.handle(response);
+        } catch (ApiClientException e) {
             throw e;
-        } finally {
-            try {
-                if (os != null) {
-                    os.close();
-                }
-            } catch (Exception e) {
-                log.warn("Error liberando los recursos: " + e.getMessage());
-            }
+        } catch (Exception e) {
+            throw this.toApiClientException(request, e);
         }
     }
-
-    private void processBinaryBody(HttpURLConnection httpConn, ApiRequest request) throws IOException {
-        FileInputStream fileInputStream = null;
-        DataOutputStream outputStream = null;
-
+    
+    private ApiResponse executeWithPermits(ApiRequest request, Semaphore global, Map<String, Semaphore> hosts,
+            int maxPerHost, long deadline) throws InterruptedException {
+        Semaphore host = hosts.computeIfAbsent(request.getHost(), h -> new Semaphore(maxPerHost));
+        
+        // Primero se reserva el host para no ocupar un hueco global mientras se espera por él
+        if (!acquire(host, deadline)) {
+            throw new ApiTimeoutException(ApiClient.class.getName(), "Se superó el plazo del lote esperando turno para el host " + request.getHost());
+        }
         try {
-            httpConn.setRequestProperty("Connection", "Keep-Alive");
-            log.debug("Connection: Keep-Alive");
-            httpConn.setRequestProperty("Cache-Control", "no-cache");
-            log.debug("Cache-Control: no-cache");
-            httpConn.setRequestProperty("Content-Length", String.valueOf(request.getBinaryFile().length()));
-            log.debug("Content-Length: " + String.valueOf(request.getBinaryFile().length()));
-
-            // Leemos el archivo binario
-            fileInputStream = new FileInputStream(request.getBinaryFile());
-
-            // Creamos el stream de salida para enviar los datos binarios
-            outputStream = new DataOutputStream(httpConn.getOutputStream());
-
-            // Buffer para leer y enviar los bytes
-            byte[] buffer = new byte[4096];
-            int bytesRead;
-
-            // Escribimos el contenido del archivo en el stream de salida
-            while ((bytesRead = fileInputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
+            if (!acquire(global, deadline)) {
+                throw new ApiTimeoutException(ApiClient.class.getName(), "Se superó el plazo del lote esperando turno para: " + request.getUri());
             }
-
-            outputStream.flush(); // Asegurarse de que se envíen todos los datos
-        } catch (IOException e) {
-            log.error("Error cargando el fichero de la solicitud: " + request.getUri());
-            throw e;
-        } finally {
-            // Cerrar todos los recursos
             try {
-                if (fileInputStream != null) {
-                    fileInputStream.close();
-                }
-                if (outputStream != null) {
-                    outputStream.close();
-                }
-            } catch (IOException e) {
-                log.warn("Error liberando los recursos: " + e.getMessage());
+                // La petición se aborta al vencer su propio plazo o el del lote, el que llegue antes
+                return this.executeApiRequest(request, Math.min(this.getDeadline(request), deadline));
+            } finally {
+                global.release();
             }
+        } finally {
+            host.release();
         }
     }
-
-    private String getFormdataElementHeader(String boundary, ApiElement element) {
-        StringBuilder builder = new StringBuilder();
-
-        if (element.getValueType() == ApiValueType.FILE) {
-            ImageMetadata metadata = PostUtils.extractImageMetadata(element.getValue());
-            File imageFile = new File(element.getValue());
-            builder.append("--").append(boundary).append(LINE_FEED);
-            builder.append("Content-Disposition: form-data; name=\"");
-            builder.append(element.getName()).append("\"; filename=\"").append(imageFile.getName()).append("\"").append(LINE_FEED);
-            builder.append("Content-Type: ").append(metadata.getMimeType()).append(LINE_FEED);
-            builder.append(LINE_FEED);
-        } else {
-            builder.append("--").append(boundary).append(LINE_FEED);
-            builder.append("Content-Disposition: form-data; name=\"").append(element.getName()).append("\"").append(LINE_FEED);
-            builder.append("Content-Type: text/plain; charset=UTF-8").append(LINE_FEED);
-            builder.append(LINE_FEED);
+    
+    // Sin plazo se espera sin límite, ya que deadline - System.nanoTime() podría desbordarse
+    private static boolean acquire(Semaphore semaphore, long deadline) throws InterruptedException {
+        if (deadline == Long.MAX_VALUE) {
+            semaphore.acquire();
+            return true;
         }
-
-        log.debug("Se agregó un elemento al Formdata: " + builder.toString());
-
-        return builder.toString();
+        
+        return semaphore.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
     }
-
-    public void processMultipartFormBody(HttpURLConnection httpConn, ApiRequest request) {
-        // Generar un boundary único
-        String boundary = "----WebKitFormBoundary" + UUID.randomUUID().toString();
-        String contentType = "multipart/form-data; boundary=" + boundary;
-
-        // Buffer temporal para calcular el Content-Length
-        ByteArrayOutputStream multipart = new ByteArrayOutputStream();
-        // DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream);
-
-        try {
-            httpConn.setRequestProperty("Content-Type", contentType);
-            log.debug("Content-Type: " + contentType);
-
-            // Se envía los elementos del formulario
-            for (ApiElement element : request.getElements()) {
-                if (element.getType() == ApiElementType.FORMDATA) {
-                    String elementHeader = this.getFormdataElementHeader(boundary, element);
-                    multipart.writeBytes(elementHeader.getBytes(StandardCharsets.UTF_8));
-
-                    // Se agrega el valor del elemento
-                    if (element.getValueType() == ApiValueType.FILE) {
-                        File imageFile = new File(element.getValue());
-                        FileInputStream inputStream = new FileInputStream(imageFile);
-                        byte[] buffer = new byte[4096];
-                        int bytesRead;
-                        while ((bytesRead = inputStream.read(buffer)) != -1) {
-                            multipart.write(buffer, 0, bytesRead);
-                        }
-                        inputStream.close();
-                        multipart.writeBytes(LINE_FEED.getBytes(StandardCharsets.UTF_8));
-                    } else {
-                        String temp = element.getValue() + LINE_FEED;
-                        multipart.writeBytes(temp.getBytes(StandardCharsets.UTF_8));
-                    }
+    
+    public List<ApiRequestResult> executeAll(Collection<ApiRequest> requests) {
+        return this.executeAll(requests, new ApiBatchConfig());
+    }
+    
+    // Ejecuta cada petición en un hilo virtual respetando los límites de concurrencia y el plazo
+    // global. Devuelve un resultado por petición, en el mismo orden, sin lanzar los errores
+    public List<ApiRequestResult> executeAll(Collection<ApiRequest> requests, ApiBatchConfig config) {
+        List<ApiRequest> requestList = new ArrayList<>(requests);
+        List<ApiRequestResult> results = new ArrayList<>(requestList.size());
+        long deadline = (config.getDeadline() == null) ? Long.MAX_VALUE : System.nanoTime() + config.getDeadline().toNanos();
+        Semaphore global = new Semaphore(config.getMaxConcurrency());
+        Map<String, Semaphore> hosts = new ConcurrentHashMap<>();
+        List<Future<ApiResponse>> futures = new ArrayList<>(requestList.size());
+        
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (ApiRequest request : requestList) {
+                futures.add(executor.submit(() -> this.executeWithPermits(request, global, hosts, 
+                        config.getMaxConcurrencyPerHost(), deadline)));
+            }
+            
+            for (int i = 0; i < requestList.size(); i++) {
+                ApiRequest request = requestList.get(i);
+                Future<ApiResponse> future = futures.get(i);
+                try {
+                    ApiResponse response = (deadline == Long.MAX_VALUE) ? future.get() 
+                            : future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    results.add(ApiRequestResult.success(request, response));
+                } catch (TimeoutException e) {
+                    future.cancel(true);
+                    results.add(ApiRequestResult.failure(request, new ApiTimeoutException(ApiClient.class.getName(), 
+                            "Se superó el plazo del lote para la solicitud: " + request.getUri())));
+                } catch (ExecutionException e) {
+                    results.add(ApiRequestResult.failure(request, this.toApiClientException(request, e.getCause())));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    executor.shutdownNow();
+                    throw new ApiClientException(ApiClient.class.getName(), "Se interrumpió la ejecución del lote de solicitudes");
                 }
             }
+            
+            executor.shutdownNow();
+        }
+        
+        return results;
+    }
 
-            // Terminar la solicitud multipart
-            String temp = "--" + boundary + "--" + LINE_FEED;
-            multipart.writeBytes(temp.getBytes(StandardCharsets.UTF_8));
-
-            // Calculamos el tamaño total del contenido
-            int contentLength = multipart.size();
-            httpConn.setRequestProperty("Content-Length", Integer.toString(contentLength));
-            log.debug("Content-Length: " + Integer.toString(contentLength));
-
-            // log.info(LINE_FEED + byteArrayOutputStream.toString());
-            try (OutputStream requestStream = httpConn.getOutputStream()) {
-                multipart.writeTo(requestStream);
-            }
+    /**
+     * @deprecated el cuerpo multipart lo construye el HttpTransport configurado
+     */
+    @Deprecated
+    public void processMultipartFormBody(HttpURLConnection httpConn, ApiRequest request) {
+        try {
+            new UrlConnectionTransport().processMultipartFormBody(httpConn, request);
         } catch (Exception e) {
             log.error("Se ha producido un error procesando un formulario multi-partes");
             logException(e);
             throw new ApiClientException(ApiClient.class.getName(), e.getMessage());
         }
     }
-}
+}
\ No newline at end of file
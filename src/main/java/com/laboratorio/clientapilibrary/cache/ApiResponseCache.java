@@ -0,0 +1,350 @@
+package com.laboratorio.clientapilibrary.cache;
+
+import com.laboratorio.clientapilibrary.model.ApiMethodType;
+import com.laboratorio.clientapilibrary.model.ApiRequest;
+import com.laboratorio.clientapilibrary.transport.TransportOptions;
+import com.laboratorio.clientapilibrary.transport.TransportResponse;
+import com.laboratorio.clientapilibrary.utils.BufferPool;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Caché HTTP privada de ApiClient para peticiones GET. Respeta Cache-Control y Expires,
+ * revalida con ETag/Last-Modified (un 304 cuenta como acierto) y expulsa las entradas
+ * menos usadas cuando supera el número de entradas o de bytes configurado. Las respuestas
+ * de cada credencial (Authorization, cookies o cuenta) se guardan por separado y se
+ * distinguen las variantes indicadas en Vary. Puede tener un segundo nivel en disco, donde
+ * no se guardan las respuestas marcadas como private.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class ApiResponseCache {
+    private static final Logger log = LogManager.getLogger(ApiResponseCache.class);
+    private static final String[] CREDENTIAL_HEADERS = {"Authorization", "Proxy-Authorization", "Cookie"};
+    
+    private final int maxEntries;
+    private final long maxBytes;
+    private final DiskCacheStore diskStore;
+    private final LinkedHashMap<String, CacheEntry> entries;
+    private long bytes;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidatedHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ApiResponseCache(int maxEntries, long maxBytes) {
+        this(maxEntries, maxBytes, null);
+    }
+    
+    // Sin límites propios, el disco admite las mismas entradas y bytes que la memoria
+    public ApiResponseCache(int maxEntries, long maxBytes, String diskDirectory) {
+        this(maxEntries, maxBytes, diskDirectory, maxEntries, maxBytes);
+    }
+    
+    public ApiResponseCache(int maxEntries, long maxBytes, String diskDirectory, int maxDiskEntries, long maxDiskBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.diskStore = (diskDirectory == null) ? null : new DiskCacheStore(diskDirectory, maxDiskEntries, maxDiskBytes);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.bytes = 0L;
+    }
+    
+    public boolean isCacheable(ApiRequest request) {
+        return (request.getMethod() == ApiMethodType.GET) && !CacheControl.parse(request.getApiHeader("Cache-Control")).isNoStore();
+    }
+    
+    // La clave incluye un resumen de las credenciales para no servir a una cuenta las respuestas de otra
+    public String getKey(ApiRequest request, TransportOptions options) {
+        String key = getBaseKey(request);
+        String credentials = getCredentials(request, options);
+        
+        return (credentials == null) ? key : key + " #" + DiskCacheStore.hash(credentials);
+    }
+    
+    private static String getBaseKey(ApiRequest request) {
+        return request.getMethod().name() + " " + request.getUri() + request.getQueryParams();
+    }
+    
+    private static String getCredentials(ApiRequest request, TransportOptions options) {
+        StringBuilder credentials = new StringBuilder();
+        for (String name : CREDENTIAL_HEADERS) {
+            String value = getRequestHeader(request, options, name);
+            if (value != null) {
+                credentials.append(name).append(": ").append(value).append('\n');
+            }
+        }
+        if (request.getRateLimitAccount() != null) {
+            credentials.append("account: ").append(request.getRateLimitAccount()).append('\n');
+        }
+        
+        return (credentials.length() == 0) ? null : credentials.toString();
+    }
+    
+    // Valor con el que se envía la cabecera: las opciones sustituyen a las cabeceras de la petición
+    private static String getRequestHeader(ApiRequest request, TransportOptions options, String name) {
+        String value = (options == null) ? null : options.getHeaders().get(name);
+        if (value == null) {
+            value = request.getApiHeader(name);
+        }
+        if ((value == null) && name.equalsIgnoreCase("Cookie") && !request.getUnmodifiableCookies().isEmpty()) {
+            value = String.join("; ", request.getUnmodifiableCookies());
+        }
+        
+        return value;
+    }
+    
+    // Valores de la petición para las cabeceras que la respuesta lista en Vary
+    private static String getVariant(List<String> vary, ApiRequest request, TransportOptions options) {
+        if (vary == null) {
+            return "";
+        }
+        
+        TreeMap<String, String> values = new TreeMap<>();
+        for (String header : vary) {
+            for (String name : header.split(",")) {
+                name = name.trim().toLowerCase();
+                if (!name.isEmpty()) {
+                    String value = getRequestHeader(request, options, name);
+                    values.put(name, (value == null) ? "" : value);
+                }
+            }
+        }
+        
+        return values.toString();
+    }
+    
+    // Busca la entrada en memoria y, si no está, en disco. Una entrada de otra variante no sirve
+    public CacheEntry lookup(ApiRequest request, TransportOptions options) {
+        String key = this.getKey(request, options);
+        CacheEntry entry;
+        
+        synchronized (this) {
+            entry = this.entries.get(key);
+        }
+        
+        if ((entry == null) && (this.diskStore != null)) {
+            entry = this.diskStore.get(key);
+            if (entry != null) {
+                this.diskHits.increment();
+                this.put(entry, false);
+            }
+        }
+        
+        if ((entry != null) && !entry.getVariant().equals(getVariant(entry.getHeaders().get("Vary"), request, options))) {
+            return null;
+        }
+        
+        return entry;
+    }
+    
+    // Una entrada vigente se sirve sin ir a la red salvo que la petición pida revalidar
+    public boolean canServeWithoutValidation(ApiRequest request, CacheEntry entry) {
+        return entry.isFresh(System.currentTimeMillis()) 
+                && !CacheControl.parse(request.getApiHeader("Cache-Control")).isNoCache();
+    }
+    
+    public TransportResponse hit(CacheEntry entry) {
+        this.hits.increment();
+        log.debug("Respuesta servida desde la caché: " + entry.getKey());
+        
+        return replay(entry);
+    }
+    
+    public void addConditionalHeaders(CacheEntry entry, TransportOptions options) {
+        if (entry.getEtag() != null) {
+            options.setHeader("If-None-Match", entry.getEtag());
+        }
+        if (entry.getLastModified() != null) {
+            options.setHeader("If-Modified-Since", entry.getLastModified());
+        }
+    }
+    
+    // Procesa la respuesta de la red: un 304 renueva la entrada y se sirve desde la caché;
+    // una respuesta 200 almacenable se guarda y se devuelve con el cuerpo ya leído
+    public TransportResponse process(ApiRequest request, TransportOptions options, CacheEntry entry, TransportResponse response) throws IOException {
+        if ((response.getStatusCode() == 304) && (entry != null)) {
+            response.close();
+            CacheEntry renewed = this.createEntry(entry.getKey(), entry.getStatusCode(), mergeHeaders(entry.getHeaders(), response.getHeaders()), 
+                    entry.getBody(), entry.getVariant());
+            this.put(renewed, true);
+            this.revalidatedHits.increment();
+            log.debug("Respuesta revalidada desde la caché: " + entry.getKey());
+            
+            return replay(renewed);
+        }
+        
+        this.misses.increment();
+        if ((response.getStatusCode() != 200) || (response.getStatusCode() != request.getOkResponse())) {
+            return response;
+        }
+        
+        CacheControl cacheControl = CacheControl.parse(response.getHeader("Cache-Control"));
+        List<String> vary = response.getHeaderValues("Vary");
+        if (cacheControl.isNoStore() || ((vary != null) && vary.contains("*"))) {
+            return response;
+        }
+        
+        byte[] body;
+        try (response) {
+            body = BufferPool.readAllBytes(response.getBody(), response.getContentLength());
+        }
+        
+        CacheEntry created = this.createEntry(this.getKey(request, options), response.getStatusCode(), response.getHeaders(), body, 
+                getVariant(vary, request, options));
+        if ((created.getEtag() != null) || (created.getLastModified() != null) || created.isFresh(System.currentTimeMillis())) {
+            this.put(created, true);
+            this.stores.increment();
+        }
+        
+        return replay(created);
+    }
+    
+    private CacheEntry createEntry(String key, int statusCode, Map<String, List<String>> responseHeaders, byte[] body, String variant) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, List<String>> header : responseHeaders.entrySet()) {
+            // Las cookies no se reutilizan desde la caché
+            if ((header.getKey() != null) && !header.getKey().equalsIgnoreCase("Set-Cookie")) {
+                headers.put(header.getKey(), List.copyOf(header.getValue()));
+            }
+        }
+        
+        String etag = first(headers, "ETag");
+        String lastModified = first(headers, "Last-Modified");
+        
+        return new CacheEntry(key, statusCode, headers, body, etag, lastModified, getExpiresAt(headers), variant);
+    }
+    
+    private static String first(Map<String, List<String>> headers, String name) {
+        List<String> values = headers.get(name);
+        return ((values == null) || values.isEmpty()) ? null : values.get(0);
+    }
+    
+    private static Map<String, List<String>> mergeHeaders(Map<String, List<String>> stored, Map<String, List<String>> fresh) {
+        Map<String, List<String>> merged = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        merged.putAll(stored);
+        for (Map.Entry<String, List<String>> header : fresh.entrySet()) {
+            // El 304 no trae cuerpo, así que no se toman sus cabeceras de contenido
+            if ((header.getKey() != null) && !header.getKey().equalsIgnoreCase("Content-Length")
+                    && !header.getKey().equalsIgnoreCase("Content-Encoding")) {
+                merged.put(header.getKey(), header.getValue());
+            }
+        }
+        
+        return merged;
+    }
+    
+    // Calcula la vigencia a partir de Cache-Control (max-age) o de Expires
+    private static long getExpiresAt(Map<String, List<String>> headers) {
+        long now = System.currentTimeMillis();
+        CacheControl cacheControl = CacheControl.parse(first(headers, "Cache-Control"));
+        
+        if (cacheControl.isNoCache()) {
+            return now;
+        }
+        if (cacheControl.getMaxAge() >= 0) {
+            long age = 0L;
+            try {
+                String ageHeader = first(headers, "Age");
+                age = (ageHeader == null) ? 0L : Long.parseLong(ageHeader.trim());
+            } catch (NumberFormatException e) {
+                // Se ignora un Age no válido
+            }
+            return now + Math.max(0L, cacheControl.getMaxAge() - age) * 1000L;
+        }
+        
+        String expires = first(headers, "Expires");
+        if (expires != null) {
+            try {
+                return ZonedDateTime.parse(expires, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return now;
+            }
+        }
+        
+        return now;
+    }
+    
+    private static TransportResponse replay(CacheEntry entry) {
+        return new TransportResponse(entry.getStatusCode(), entry.getHeaders(), new ByteArrayInputStream(entry.getBody()), null);
+    }
+    
+    private void put(CacheEntry entry, boolean writeToDisk) {
+        if (entry.getWeight() > this.maxBytes) {
+            return;
+        }
+        
+        synchronized (this) {
+            CacheEntry previous = this.entries.put(entry.getKey(), entry);
+            if (previous != null) {
+                this.bytes -= previous.getWeight();
+            }
+            this.bytes += entry.getWeight();
+            
+            // Se expulsan las entradas usadas hace más tiempo
+            Iterator<CacheEntry> iterator = this.entries.values().iterator();
+            while (((this.entries.size() > this.maxEntries) || (this.bytes > this.maxBytes)) && iterator.hasNext()) {
+                CacheEntry eldest = iterator.next();
+                iterator.remove();
+                this.bytes -= eldest.getWeight();
+                this.evictions.increment();
+            }
+        }
+        
+        // Las respuestas privadas solo se guardan en memoria
+        if (writeToDisk && (this.diskStore != null) && !CacheControl.parse(first(entry.getHeaders(), "Cache-Control")).isPrivateResponse()) {
+            this.diskStore.put(entry);
+        }
+    }
+    
+    // Elimina las entradas de la URL de todas las credenciales, en disco y en memoria.
+    // El disco se vacía primero para que una búsqueda no devuelva a memoria una entrada borrada
+    public void invalidate(ApiRequest request) {
+        String key = getBaseKey(request);
+        if (this.diskStore != null) {
+            this.diskStore.removeAll(key);
+        }
+        
+        synchronized (this) {
+            Iterator<CacheEntry> iterator = this.entries.values().iterator();
+            while (iterator.hasNext()) {
+                CacheEntry entry = iterator.next();
+                if (entry.getKey().equals(key) || entry.getKey().startsWith(key + " #")) {
+                    iterator.remove();
+                    this.bytes -= entry.getWeight();
+                }
+            }
+        }
+    }
+    
+    public void clear() {
+        synchronized (this) {
+            this.entries.clear();
+            this.bytes = 0L;
+        }
+        if (this.diskStore != null) {
+            this.diskStore.clear();
+        }
+    }
+    
+    public synchronized CacheStats getStats() {
+        return new CacheStats(this.hits.sum(), this.revalidatedHits.sum(), this.misses.sum(), this.diskHits.sum(),
+                this.stores.sum(), this.evictions.sum(), this.entries.size(), this.bytes);
+    }
+}
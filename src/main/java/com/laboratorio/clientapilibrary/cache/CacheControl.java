@@ -0,0 +1,52 @@
+package com.laboratorio.clientapilibrary.cache;
+
+import lombok.Getter;
+
+/**
+ * Directivas de la cabecera Cache-Control que interesan a la caché del cliente.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+
+@Getter
+public class CacheControl {
+    private boolean noStore;
+    private boolean noCache;
+    private boolean mustRevalidate;
+    // Respuesta propia del usuario que no debe guardarse en almacenamiento compartido
+    private boolean privateResponse;
+    // Segundos de vigencia indicados por max-age (-1 si no se indica)
+    private long maxAge = -1L;
+    
+    public static CacheControl parse(String header) {
+        CacheControl cacheControl = new CacheControl();
+        if (header == null) {
+            return cacheControl;
+        }
+        
+        for (String part : header.split(",")) {
+            String directive = part.trim().toLowerCase();
+            if (directive.equals("no-store")) {
+                cacheControl.noStore = true;
+            } else if (directive.startsWith("no-cache")) {
+                cacheControl.noCache = true;
+            } else if (directive.startsWith("private")) {
+                cacheControl.privateResponse = true;
+            } else if (directive.equals("must-revalidate")) {
+                cacheControl.mustRevalidate = true;
+            } else if (directive.startsWith("max-age=")) {
+                try {
+                    cacheControl.maxAge = Long.parseLong(directive.substring(8).replace("\"", "").trim());
+                } catch (NumberFormatException e) {
+                    // Un max-age no válido equivale a una respuesta ya expirada
+                    cacheControl.maxAge = 0L;
+                }
+            }
+        }
+        
+        return cacheControl;
+    }
+}
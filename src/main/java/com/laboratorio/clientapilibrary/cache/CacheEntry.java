@@ -0,0 +1,42 @@
+package com.laboratorio.clientapilibrary.cache;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Respuesta almacenada en la caché, con el cuerpo tal y como se recibió.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+
+@Getter @AllArgsConstructor
+public class CacheEntry {
+    private final String key;
+    private final int statusCode;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private final String etag;
+    private final String lastModified;
+    // Instante (epoch millis) hasta el que la respuesta es válida sin revalidar
+    private final long expiresAt;
+    // Valores de la petición para las cabeceras listadas en Vary ("" si no hay Vary)
+    private final String variant;
+    
+    public boolean isFresh(long now) {
+        return now < this.expiresAt;
+    }
+    
+    public boolean hasValidators() {
+        return (this.etag != null) || (this.lastModified != null);
+    }
+    
+    // Tamaño aproximado en memoria, usado para limitar la caché
+    public long getWeight() {
+        return this.body.length + 256L;
+    }
+}
@@ -0,0 +1,38 @@
+package com.laboratorio.clientapilibrary.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Métricas de uso de la caché de respuestas.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+
+@Getter @AllArgsConstructor
+public class CacheStats {
+    // Respuestas servidas desde la caché sin ir a la red
+    private final long hits;
+    // Respuestas revalidadas con un 304 Not Modified
+    private final long revalidatedHits;
+    private final long misses;
+    private final long diskHits;
+    private final long stores;
+    private final long evictions;
+    private final int entries;
+    private final long bytes;
+    
+    public double getHitRatio() {
+        long total = this.hits + this.revalidatedHits + this.misses;
+        return (total == 0) ? 0.0 : (double) (this.hits + this.revalidatedHits) / total;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("hits=%d, revalidados=%d, fallos=%d, disco=%d, almacenadas=%d, expulsadas=%d, entradas=%d, bytes=%d",
+                this.hits, this.revalidatedHits, this.misses, this.diskHits, this.stores, this.evictions, this.entries, this.bytes);
+    }
+}
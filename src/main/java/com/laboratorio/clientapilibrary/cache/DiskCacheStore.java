@@ -0,0 +1,285 @@
+package com.laboratorio.clientapilibrary.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Segundo nivel de la caché de respuestas en disco: un fichero por entrada.
+ * Las escrituras se hacen en segundo plano y, al superar el número de entradas o
+ * de bytes indicado, se borran las entradas leídas o escritas hace más tiempo.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class DiskCacheStore {
+    private static final Logger log = LogManager.getLogger(DiskCacheStore.class);
+    private static final int MAGIC = 0x43414348;   // "CACH"
+    private static final byte VERSION = 2;
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "DiskCacheStore-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final Path directory;
+    private final int maxEntries;
+    private final long maxBytes;
+    // Ocupación del directorio, calculada en la primera escritura y mantenida por el hilo de escritura
+    private int entries = -1;
+    private long bytes;
+
+    public DiskCacheStore(String directory, int maxEntries, long maxBytes) {
+        this.directory = Path.of(directory);
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+    
+    static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private Path getPath(String key) {
+        return this.directory.resolve(hash(key) + ".cache");
+    }
+    
+    public void put(CacheEntry entry) {
+        writer.execute(() -> this.write(entry));
+    }
+    
+    // Borra la entrada de la clave y las de todas sus credenciales ("clave #hash"). Los ficheros
+    // se nombran con el hash de la clave completa, así que se lee la clave guardada en cada uno.
+    // Espera a que termine para que una lectura posterior no recupere ninguna
+    public void removeAll(String key) {
+        try {
+            writer.submit(() -> {
+                for (Path path : this.listEntries()) {
+                    String storedKey = readKey(path);
+                    if ((storedKey != null) && (storedKey.equals(key) || storedKey.startsWith(key + " #"))) {
+                        this.delete(path);
+                    }
+                }
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("No se pudieron borrar las entradas de caché en disco: " + e.getCause().getMessage());
+        }
+    }
+    
+    // Devuelve la clave guardada en el fichero o null si no es una entrada válida
+    private static String readKey(Path path) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path.toFile())))) {
+            if ((in.readInt() != MAGIC) || (in.readByte() != VERSION)) {
+                return null;
+            }
+            return in.readUTF();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+    
+    // Borra todas las entradas. Espera a que termine para que una lectura posterior no encuentre ninguna
+    public void clear() {
+        try {
+            writer.submit(() -> {
+                for (Path path : this.listEntries()) {
+                    this.delete(path);
+                }
+                this.entries = 0;
+                this.bytes = 0L;
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("No se pudo vaciar la caché en disco: " + e.getCause().getMessage());
+        }
+    }
+    
+    private List<Path> listEntries() throws IOException {
+        if (!Files.isDirectory(this.directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".cache")).toList();
+        }
+    }
+    
+    private void delete(Path path) {
+        try {
+            long size = Files.exists(path) ? Files.size(path) : -1L;
+            if (Files.deleteIfExists(path) && (this.entries >= 0)) {
+                this.entries--;
+                this.bytes -= size;
+            }
+        } catch (IOException e) {
+            log.warn("No se pudo borrar la entrada de caché en disco: " + e.getMessage());
+        }
+    }
+    
+    private void countEntries() throws IOException {
+        this.entries = 0;
+        this.bytes = 0L;
+        for (Path path : this.listEntries()) {
+            this.entries++;
+            this.bytes += Files.size(path);
+        }
+    }
+    
+    // Borra las entradas usadas hace más tiempo hasta volver a los límites
+    private void evict() throws IOException {
+        if ((this.entries <= this.maxEntries) && (this.bytes <= this.maxBytes)) {
+            return;
+        }
+        
+        List<Path> files = new ArrayList<>(this.listEntries());
+        Map<Path, Long> lastUsed = new HashMap<>();
+        for (Path path : files) {
+            lastUsed.put(path, Files.getLastModifiedTime(path).toMillis());
+        }
+        files.sort(Comparator.comparing(lastUsed::get));
+        
+        for (Path path : files) {
+            if ((this.entries <= this.maxEntries) && (this.bytes <= this.maxBytes)) {
+                break;
+            }
+            this.delete(path);
+        }
+    }
+    
+    private void write(CacheEntry entry) {
+        Path target = this.getPath(entry.getKey());
+        
+        try {
+            Files.createDirectories(this.directory);
+            if (this.entries < 0) {
+                this.countEntries();
+            }
+            Path temp = Files.createTempFile(this.directory, target.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp.toFile())))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getStatusCode());
+                out.writeLong(entry.getExpiresAt());
+                writeString(out, entry.getEtag());
+                writeString(out, entry.getLastModified());
+                out.writeUTF(entry.getVariant());
+                out.writeInt(entry.getHeaders().size());
+                for (Map.Entry<String, List<String>> header : entry.getHeaders().entrySet()) {
+                    out.writeUTF(header.getKey());
+                    out.writeInt(header.getValue().size());
+                    for (String value : header.getValue()) {
+                        out.writeUTF(value);
+                    }
+                }
+                out.writeInt(entry.getBody().length);
+                out.write(entry.getBody());
+            }
+            
+            if (Files.exists(target)) {
+                this.entries--;
+                this.bytes -= Files.size(target);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            this.entries++;
+            this.bytes += Files.size(target);
+            this.evict();
+        } catch (IOException e) {
+            log.warn("No se pudo guardar la entrada de caché en disco: " + e.getMessage());
+        }
+    }
+    
+    // Devuelve la entrada almacenada o null si no existe o no se puede leer
+    public CacheEntry get(String key) {
+        Path path = this.getPath(key);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path.toFile())))) {
+            if ((in.readInt() != MAGIC) || (in.readByte() != VERSION)) {
+                return null;
+            }
+            String storedKey = in.readUTF();
+            if (!storedKey.equals(key)) {
+                return null;
+            }
+            int statusCode = in.readInt();
+            long expiresAt = in.readLong();
+            String etag = readString(in);
+            String lastModified = readString(in);
+            String variant = in.readUTF();
+            int headerCount = in.readInt();
+            Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (int i = 0; i < headerCount; i++) {
+                String name = in.readUTF();
+                int valueCount = in.readInt();
+                List<String> values = new ArrayList<>(valueCount);
+                for (int j = 0; j < valueCount; j++) {
+                    values.add(in.readUTF());
+                }
+                headers.put(name, values);
+            }
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            
+            // La fecha de modificación marca el último uso para la expulsión
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            
+            return new CacheEntry(key, statusCode, headers, body, etag, lastModified, expiresAt, variant);
+        } catch (IOException e) {
+            log.warn("No se pudo leer la entrada de caché en disco: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+    
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.laboratorio.clientapilibrary.exceptions;
+
+/**
+ * La petición se canceló mediante su ApiCancellationToken.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class ApiCancelledException extends ApiClientException {
+    public ApiCancelledException(String className, String message) {
+        super(className, message);
+    }
+}
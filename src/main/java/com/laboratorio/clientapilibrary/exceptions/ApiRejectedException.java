@@ -0,0 +1,16 @@
+package com.laboratorio.clientapilibrary.exceptions;
+
+/**
+ * La petición se rechazó sin enviarla porque el circuito del host está abierto
+ * o se alcanzó el máximo de peticiones simultáneas contra él.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class ApiRejectedException extends ApiClientException {
+    public ApiRejectedException(String className, String message) {
+        super(className, message);
+    }
+}
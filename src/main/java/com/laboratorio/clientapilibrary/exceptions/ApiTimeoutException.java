@@ -0,0 +1,15 @@
+package com.laboratorio.clientapilibrary.exceptions;
+
+/**
+ * La petición superó el tiempo de conexión, de lectura o el plazo total.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class ApiTimeoutException extends ApiClientException {
+    public ApiTimeoutException(String className, String message) {
+        super(className, message);
+    }
+}
@@ -0,0 +1,35 @@
+package com.laboratorio.clientapilibrary.metrics;
+
+import com.laboratorio.clientapilibrary.exceptions.ApiClientException;
+import com.laboratorio.clientapilibrary.model.ApiMethodType;
+
+/**
+ * Receptor de las métricas de las peticiones de ApiClient. Los métodos se invocan
+ * en el hilo de la petición, por lo que deben ser rápidos y no bloquear.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public interface ApiMetrics {
+    default void onTiming(String host, ApiMethodType method, ApiTimingPhase phase, long nanos) {
+    }
+    
+    // Bytes del cuerpo enviados y recibidos por la red (comprimidos, si lo están)
+    default void onBytes(String host, ApiMethodType method, long bytesOut, long bytesIn) {
+    }
+    
+    default void onStatus(String host, ApiMethodType method, int statusCode) {
+    }
+    
+    default void onRetry(String host, ApiMethodType method) {
+    }
+    
+    default void onError(String host, ApiMethodType method, ApiClientException error) {
+    }
+    
+    // Peticiones en vuelo contra el host tras empezar o terminar una
+    default void onInFlight(String host, int inFlight) {
+    }
+}
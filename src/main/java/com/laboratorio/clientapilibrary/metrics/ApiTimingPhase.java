@@ -0,0 +1,24 @@
+package com.laboratorio.clientapilibrary.metrics;
+
+/**
+ * Fases de una petición cuya duración se mide.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public enum ApiTimingPhase {
+    // Espera de turno en el limitador antes de enviar
+    QUEUE,
+    // Resolución DNS y conexión (solo si el transporte puede medirla)
+    CONNECT,
+    // Desde el envío hasta recibir las cabeceras de la respuesta
+    TIME_TO_FIRST_BYTE,
+    // Lectura del cuerpo desde la red
+    BODY_READ,
+    // Descompresión del cuerpo
+    DECOMPRESSION,
+    // Petición completa, incluidos los reintentos
+    TOTAL
+}
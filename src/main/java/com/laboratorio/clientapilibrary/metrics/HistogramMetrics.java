@@ -0,0 +1,160 @@
+package com.laboratorio.clientapilibrary.metrics;
+
+import com.laboratorio.clientapilibrary.exceptions.ApiClientException;
+import com.laboratorio.clientapilibrary.model.ApiMethodType;
+import com.laboratorio.clientapilibrary.utils.BufferPool;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Implementación de ApiMetrics que acumula las métricas en memoria por host y
+ * método: histogramas de latencia por fase y contadores de bytes, códigos de
+ * respuesta, reintentos, errores y peticiones en vuelo.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class HistogramMetrics implements ApiMetrics {
+    private static final int METHODS = ApiMethodType.values().length;
+    private static final int PHASES = ApiTimingPhase.values().length;
+    private static final int MAX_STATUS = 600;
+    
+    private final Map<String, HostMetrics> hosts = new ConcurrentHashMap<>();
+    
+    // Métricas de un host. Todo se indexa por método para no crear claves al registrar
+    private static class HostMetrics {
+        private final AtomicReferenceArray<LatencyHistogram> histograms = new AtomicReferenceArray<>(METHODS * PHASES);
+        private final AtomicLongArray bytesOut = new AtomicLongArray(METHODS);
+        private final AtomicLongArray bytesIn = new AtomicLongArray(METHODS);
+        private final AtomicLongArray statuses = new AtomicLongArray(METHODS * MAX_STATUS);
+        private final AtomicLongArray retries = new AtomicLongArray(METHODS);
+        private final AtomicLongArray errors = new AtomicLongArray(METHODS);
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        
+        LatencyHistogram getHistogram(ApiMethodType method, ApiTimingPhase phase) {
+            int index = method.ordinal() * PHASES + phase.ordinal();
+            LatencyHistogram histogram = this.histograms.get(index);
+            if (histogram == null) {
+                this.histograms.compareAndSet(index, null, new LatencyHistogram());
+                histogram = this.histograms.get(index);
+            }
+            return histogram;
+        }
+    }
+    
+    private HostMetrics getHost(String host) {
+        HostMetrics metrics = this.hosts.get(host);
+        return (metrics != null) ? metrics : this.hosts.computeIfAbsent(host, h -> new HostMetrics());
+    }
+
+    @Override
+    public void onTiming(String host, ApiMethodType method, ApiTimingPhase phase, long nanos) {
+        this.getHost(host).getHistogram(method, phase).record(nanos);
+    }
+
+    @Override
+    public void onBytes(String host, ApiMethodType method, long bytesOut, long bytesIn) {
+        HostMetrics metrics = this.getHost(host);
+        metrics.bytesOut.addAndGet(method.ordinal(), Math.max(0L, bytesOut));
+        metrics.bytesIn.addAndGet(method.ordinal(), Math.max(0L, bytesIn));
+    }
+
+    @Override
+    public void onStatus(String host, ApiMethodType method, int statusCode) {
+        if ((statusCode >= 0) && (statusCode < MAX_STATUS)) {
+            this.getHost(host).statuses.incrementAndGet(method.ordinal() * MAX_STATUS + statusCode);
+        }
+    }
+
+    @Override
+    public void onRetry(String host, ApiMethodType method) {
+        this.getHost(host).retries.incrementAndGet(method.ordinal());
+    }
+
+    @Override
+    public void onError(String host, ApiMethodType method, ApiClientException error) {
+        this.getHost(host).errors.incrementAndGet(method.ordinal());
+    }
+
+    @Override
+    public void onInFlight(String host, int inFlight) {
+        HostMetrics metrics = this.getHost(host);
+        metrics.inFlight.set(inFlight);
+        metrics.maxInFlight.accumulateAndGet(inFlight, Math::max);
+    }
+    
+    public LatencyHistogram getHistogram(String host, ApiMethodType method, ApiTimingPhase phase) {
+        return this.getHost(host).getHistogram(method, phase);
+    }
+    
+    public long getBytesOut(String host, ApiMethodType method) {
+        return this.getHost(host).bytesOut.get(method.ordinal());
+    }
+    
+    public long getBytesIn(String host, ApiMethodType method) {
+        return this.getHost(host).bytesIn.get(method.ordinal());
+    }
+    
+    public long getStatusCount(String host, ApiMethodType method, int statusCode) {
+        return ((statusCode >= 0) && (statusCode < MAX_STATUS)) 
+                ? this.getHost(host).statuses.get(method.ordinal() * MAX_STATUS + statusCode) : 0L;
+    }
+    
+    public long getRetries(String host, ApiMethodType method) {
+        return this.getHost(host).retries.get(method.ordinal());
+    }
+    
+    public long getErrors(String host, ApiMethodType method) {
+        return this.getHost(host).errors.get(method.ordinal());
+    }
+    
+    public int getInFlight(String host) {
+        return this.getHost(host).inFlight.get();
+    }
+    
+    public int getMaxInFlight(String host) {
+        return this.getHost(host).maxInFlight.get();
+    }
+    
+    // Resumen legible de todas las métricas registradas
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, HostMetrics> entry : new TreeMap<>(this.hosts).entrySet()) {
+            HostMetrics metrics = entry.getValue();
+            report.append(entry.getKey()).append(" (en vuelo máx. ").append(metrics.maxInFlight.get()).append(")\n");
+            
+            for (ApiMethodType method : ApiMethodType.values()) {
+                int m = method.ordinal();
+                StringBuilder statuses = new StringBuilder();
+                for (int status = 0; status < MAX_STATUS; status++) {
+                    long count = metrics.statuses.get(m * MAX_STATUS + status);
+                    if (count > 0) {
+                        statuses.append(' ').append(status).append('=').append(count);
+                    }
+                }
+                if ((statuses.length() == 0) && (metrics.errors.get(m) == 0)) {
+                    continue;
+                }
+                
+                report.append(String.format("  %s: respuestas:%s, reintentos=%d, errores=%d, enviados=%d B, recibidos=%d B%n",
+                        method, statuses, metrics.retries.get(m), metrics.errors.get(m), metrics.bytesOut.get(m), metrics.bytesIn.get(m)));
+                for (ApiTimingPhase phase : ApiTimingPhase.values()) {
+                    LatencyHistogram histogram = metrics.histograms.get(m * PHASES + phase.ordinal());
+                    if ((histogram != null) && (histogram.getCount() > 0)) {
+                        report.append("    ").append(phase).append(": ").append(histogram).append('\n');
+                    }
+                }
+            }
+        }
+        report.append("Pool de buffers: ").append(BufferPool.getStats()).append('\n');
+        
+        return report.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.laboratorio.clientapilibrary.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias con cubetas log-lineales al estilo de HdrHistogram:
+ * 32 cubetas por cada potencia de dos, con un error relativo máximo del 3%.
+ * Registrar una muestra solo incrementa contadores atómicos, sin reservar memoria.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // Se registran valores de hasta 2^40 ns (unos 18 minutos); los mayores se acumulan en la última cubeta
+    private static final int MAX_VALUE_BITS = 40;
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+    
+    private static int getIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+    }
+    
+    // Mayor valor que cae en la cubeta
+    private static long getHighestValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long top = SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1));
+        return ((top + 1) << shift) - 1;
+    }
+    
+    public void record(long nanos) {
+        long value = Math.min(Math.max(0L, nanos), MAX_VALUE);
+        this.counts.incrementAndGet(getIndex(value));
+        this.totalCount.incrementAndGet();
+        this.sum.addAndGet(value);
+        long current;
+        while (value > (current = this.max.get()) && !this.max.compareAndSet(current, value)) {
+            // Se reintenta hasta fijar el máximo
+        }
+    }
+    
+    public long getCount() {
+        return this.totalCount.get();
+    }
+    
+    public long getMax() {
+        return this.max.get();
+    }
+    
+    public double getMean() {
+        long count = this.totalCount.get();
+        return (count == 0) ? 0.0 : (double) this.sum.get() / count;
+    }
+    
+    // Valor en nanosegundos por debajo del cual queda el porcentaje indicado de las muestras (0-100)
+    public long getValueAtPercentile(double percentile) {
+        long count = this.totalCount.get();
+        if (count == 0) {
+            return 0L;
+        }
+        
+        long target = Math.max(1L, (long) Math.ceil(count * Math.min(100.0, percentile) / 100.0));
+        long accumulated = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            accumulated += this.counts.get(i);
+            if (accumulated >= target) {
+                return Math.min(getHighestValue(i), this.max.get());
+            }
+        }
+        
+        return this.max.get();
+    }
+    
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.counts.set(i, 0L);
+        }
+        this.totalCount.set(0L);
+        this.sum.set(0L);
+        this.max.set(0L);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("n=%d, media=%.2f ms, p50=%.2f ms, p90=%.2f ms, p99=%.2f ms, p99.9=%.2f ms, max=%.2f ms",
+                this.getCount(), this.getMean() / 1e6, this.getValueAtPercentile(50) / 1e6, this.getValueAtPercentile(90) / 1e6,
+                this.getValueAtPercentile(99) / 1e6, this.getValueAtPercentile(99.9) / 1e6, this.getMax() / 1e6);
+    }
+}
@@ -0,0 +1,62 @@
+package com.laboratorio.clientapilibrary.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Cuenta los bytes leídos del flujo subyacente y el tiempo pasado esperándolos.
+ * Colocado bajo el descompresor permite separar la lectura de red de la descompresión.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class MeteredInputStream extends FilterInputStream {
+    private long bytesRead = 0;
+    private long readNanos = 0;
+
+    public MeteredInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        long start = System.nanoTime();
+        int b = super.read();
+        this.readNanos += System.nanoTime() - start;
+        if (b >= 0) {
+            this.bytesRead++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        int n = super.read(b, off, len);
+        this.readNanos += System.nanoTime() - start;
+        if (n > 0) {
+            this.bytesRead += n;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long start = System.nanoTime();
+        long skipped = super.skip(n);
+        this.readNanos += System.nanoTime() - start;
+        this.bytesRead += skipped;
+        return skipped;
+    }
+    
+    public long getBytesRead() {
+        return this.bytesRead;
+    }
+    
+    public long getReadNanos() {
+        return this.readNanos;
+    }
+}
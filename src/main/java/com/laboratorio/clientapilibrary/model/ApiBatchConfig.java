@@ -0,0 +1,26 @@
+package com.laboratorio.clientapilibrary.model;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Configuración de la ejecución de un lote de peticiones con ApiClient.executeAll.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ApiBatchConfig {
+    // Número máximo de peticiones en vuelo en todo el lote
+    private int maxConcurrency = 256;
+    // Número máximo de peticiones en vuelo contra un mismo host
+    private int maxConcurrencyPerHost = 16;
+    // Plazo global del lote (null para no limitarlo)
+    private Duration deadline = null;
+}
@@ -0,0 +1,39 @@
+package com.laboratorio.clientapilibrary.model;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Permite cancelar las peticiones en curso que lo tengan asignado. Un mismo token
+ * puede compartirse entre varias peticiones, por ejemplo las de un lote.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class ApiCancellationToken {
+    private final Set<Runnable> listeners = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled = false;
+    
+    public void cancel() {
+        this.cancelled = true;
+        for (Runnable listener : this.listeners) {
+            listener.run();
+        }
+    }
+    
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+    
+    // Registra una acción que se ejecuta al cancelar. Devuelve la acción que la desregistra
+    public Runnable register(Runnable listener) {
+        this.listeners.add(listener);
+        if (this.cancelled) {
+            listener.run();
+        }
+        
+        return () -> this.listeners.remove(listener);
+    }
+}
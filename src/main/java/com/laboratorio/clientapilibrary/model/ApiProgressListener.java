@@ -0,0 +1,14 @@
+package com.laboratorio.clientapilibrary.model;
+
+/**
+ * Recibe el avance del envío del cuerpo de una petición.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+@FunctionalInterface
+public interface ApiProgressListener {
+    void onProgress(long bytesSent, long totalBytes, double bytesPerSecond);
+}
@@ -0,0 +1,13 @@
+package com.laboratorio.clientapilibrary.model;
+
+/**
+ * Versión del protocolo HTTP con la que se envía o se recibe una petición.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public enum ApiProtocol {
+    HTTP_1_1, HTTP_2
+}
@@ -1,19 +1,25 @@
 package com.laboratorio.clientapilibrary.model;
 
+import com.laboratorio.clientapilibrary.exceptions.ApiClientException;
+import com.laboratorio.clientapilibrary.utils.ContentEncoder;
 import java.io.File;
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 /**
  *
  * @author Rafael
- * @version 2.0
+ * @version 2.2
  * @created 06/09/2024
- * @updated 06/10/2024
+ * @updated 17/10/2026
  */
 
 @Getter @Setter
@@ -26,6 +32,40 @@ public class ApiRequest {
     private String payload;
     private File binaryFile;
     private boolean formData;
+    private ApiProgressListener progressListener;
+    // Tiempos máximos de esta petición. Si son null se usan los valores por defecto de ApiClient.
+    // Con HttpClientTransport el tiempo de conexión no puede superar el del cliente compartido
+    // (HttpClientTransport.DEFAULT_CONNECT_TIMEOUT, 30 s): un valor mayor no alarga ese límite
+    private Duration connectTimeout;
+    private Duration readTimeout;
+    private Duration timeout;
+    private ApiCancellationToken cancellationToken;
+    // Política de reintentos de esta petición. Si es null se usa la de ApiClient
+    private ApiRetryPolicy retryPolicy;
+    // Cuenta con la que se agrupa la petición en el limitador de ApiClient, además del host
+    private String rateLimitAccount;
+    // Compresión opcional del payload JSON (gzip, deflate o br) cuando ocupa al menos el umbral en bytes
+    private String payloadEncoding;
+    private int payloadCompressionThreshold = 1024;
+    // Versión de HTTP de esta petición (null para la de ApiClient) y urgencia de 0 (máxima) a 7 (mínima)
+    // que se envía en la cabecera Priority para que el servidor ordene los streams HTTP/2
+    private ApiProtocol protocol;
+    private Integer priority;
+    // Valores derivados de la uri y los parámetros que se calculan una vez y se reutilizan
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private String host;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private String queryParams;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private int queryElements = -1;
+    // Las peticiones creadas desde una plantilla comparten sus listas hasta que se modifican
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private boolean sharedElements;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private boolean sharedCookies;
+    // Si la lista de elementos ha salido de la petición puede cambiar sin aviso y la query no se guarda
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private boolean exposedElements;
 
     public ApiRequest(String uri, int okResponse, ApiMethodType method) {
         this.uri = uri;
@@ -60,40 +100,201 @@ public class ApiRequest {
         this.formData = false;
     }
     
+    // Petición creada desde una plantilla: comparte sus listas y los valores ya calculados
+    ApiRequest(ApiRequestTemplate template) {
+        this.uri = template.getUri();
+        this.okResponse = template.getOkResponse();
+        this.method = template.getMethod();
+        this.elements = template.getElements();
+        this.sharedElements = true;
+        this.cookies = template.getCookies();
+        this.sharedCookies = true;
+        this.payload = template.getPayload();
+        this.binaryFile = template.getBinaryFile();
+        this.formData = template.isFormData();
+        this.progressListener = template.getProgressListener();
+        this.connectTimeout = template.getConnectTimeout();
+        this.readTimeout = template.getReadTimeout();
+        this.timeout = template.getTimeout();
+        this.retryPolicy = template.getRetryPolicy();
+        this.rateLimitAccount = template.getRateLimitAccount();
+        this.payloadEncoding = template.getPayloadEncoding();
+        this.payloadCompressionThreshold = template.getPayloadCompressionThreshold();
+        this.protocol = template.getProtocol();
+        this.priority = template.getPriority();
+        this.host = template.getHost();
+        this.queryParams = template.getQueryParams();
+        this.queryElements = this.elements.size();
+    }
+    
+    private List<ApiElement> getMutableElements() {
+        if (this.sharedElements) {
+            this.elements = new ArrayList<>(this.elements);
+            this.sharedElements = false;
+        }
+        
+        return this.elements;
+    }
+    
+    // Quien recibe la lista puede modificarla a ella y a sus elementos. Los elementos de la
+    // plantilla se sustituyen antes por copias que sí se pueden modificar
+    public List<ApiElement> getElements() {
+        List<ApiElement> list = this.getMutableElements();
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) instanceof ImmutableApiElement element) {
+                list.set(i, element.copy());
+            }
+        }
+        this.exposedElements = true;
+        this.queryParams = null;
+        
+        return list;
+    }
+    
+    // Vista de solo lectura para recorrer los elementos al enviar la petición
+    public List<ApiElement> getUnmodifiableElements() {
+        return Collections.unmodifiableList(this.elements);
+    }
+    
+    public void setElements(List<ApiElement> elements) {
+        this.elements = elements;
+        this.sharedElements = false;
+        this.exposedElements = true;
+        this.queryParams = null;
+    }
+    
+    private List<String> getMutableCookies() {
+        if (this.sharedCookies) {
+            this.cookies = new ArrayList<>(this.cookies);
+            this.sharedCookies = false;
+        }
+        
+        return this.cookies;
+    }
+    
+    // Quien recibe la lista puede modificarla. Las cookies de la plantilla se copian antes
+    public List<String> getCookies() {
+        return this.getMutableCookies();
+    }
+    
+    // Vista de solo lectura para enviar las cookies sin copiar las de la plantilla
+    public List<String> getUnmodifiableCookies() {
+        return Collections.unmodifiableList(this.cookies);
+    }
+    
+    public void setCookies(List<String> cookies) {
+        this.cookies = cookies;
+        this.sharedCookies = false;
+    }
+    
+    // Se comprueba al asignarla para que una codificación desconocida no falle al ejecutar la petición
+    public void setPayloadEncoding(String payloadEncoding) {
+        if ((payloadEncoding != null) && !ContentEncoder.isSupported(payloadEncoding)) {
+            throw new ApiClientException(ApiRequest.class.getName(), "Codificación no soportada para el payload: " + payloadEncoding);
+        }
+        this.payloadEncoding = payloadEncoding;
+    }
+    
     public void addApiPathParam(String name, String value) {
-        this.elements.add(new ApiElement(ApiElementType.PATHPARAM, name, ApiValueType.TEXT, value));
+        boolean upToDate = !this.exposedElements && (this.queryParams != null) && (this.queryElements == this.elements.size());
+        this.getMutableElements().add(new ApiElement(ApiElementType.PATHPARAM, name, ApiValueType.TEXT, value));
+        
+        // Se codifica solo el nuevo parámetro en lugar de recalcular toda la query
+        if (upToDate) {
+            String separator = !this.queryParams.isEmpty() ? "&" : (this.uri.contains("?") ? "&" : "?");
+            this.queryParams = this.queryParams + separator + name + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8);
+            this.queryElements = this.elements.size();
+        }
     }
     
     public void addApiHeader(String name, String value) {
-        this.elements.add(new ApiElement(ApiElementType.HEADER, name, ApiValueType.TEXT, value));
+        this.getMutableElements().add(new ApiElement(ApiElementType.HEADER, name, ApiValueType.TEXT, value));
     }
     
     public void addApiCookie(String cookie) {
-        this.cookies.add(cookie);
+        this.getMutableCookies().add(cookie);
     }
     
     public void addTextFormData(String name, String value) {
        this.formData = true;
-       this.elements.add(new ApiElement(ApiElementType.FORMDATA, name, ApiValueType.TEXT, value));
+       this.getMutableElements().add(new ApiElement(ApiElementType.FORMDATA, name, ApiValueType.TEXT, value));
     }
     
     public void addFileFormData(String name, String value) {
        this.formData = true;
-       this.elements.add(new ApiElement(ApiElementType.FORMDATA, name, ApiValueType.FILE, value));
+       this.getMutableElements().add(new ApiElement(ApiElementType.FORMDATA, name, ApiValueType.FILE, value));
     }
     
     public void addJsonFormData(String name, String value) {
        this.formData = true;
-       this.elements.add(new ApiElement(ApiElementType.FORMDATA, name, ApiValueType.JSON, value));
+       this.getMutableElements().add(new ApiElement(ApiElementType.FORMDATA, name, ApiValueType.JSON, value));
+    }
+    
+    // Devuelve el valor de la primera cabecera con ese nombre o null si no existe
+    public String getApiHeader(String name) {
+        for (int i = 0; i < this.elements.size(); i++) {
+            ApiElement element = this.elements.get(i);
+            if ((element.getType() == ApiElementType.HEADER) && element.getName().equalsIgnoreCase(name)) {
+                return element.getValue();
+            }
+        }
+        
+        return null;
     }
     
+    public boolean hasApiHeader(String name) {
+        for (int i = 0; i < this.elements.size(); i++) {
+            ApiElement element = this.elements.get(i);
+            if ((element.getType() == ApiElementType.HEADER) && element.getName().equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    // Devuelve el host de la petición o la uri completa si no se puede interpretar
+    public String getHost() {
+        if (this.host == null) {
+            this.host = parseHost(this.uri);
+        }
+        
+        return this.host;
+    }
+    
+    static String parseHost(String uri) {
+        try {
+            String host = URI.create(uri).getHost();
+            if (host != null) {
+                return host.toLowerCase();
+            }
+        } catch (IllegalArgumentException e) {
+            // Se usa la uri como clave
+        }
+        
+        return uri;
+    }
+    
+    // La query se recalcula solo si se han añadido elementos desde la última vez
     public String getQueryParams() {
+        if (this.exposedElements) {
+            return encodeQueryParams(this.uri, this.elements);
+        }
+        if ((this.queryParams == null) || (this.queryElements != this.elements.size())) {
+            this.queryParams = encodeQueryParams(this.uri, this.elements);
+            this.queryElements = this.elements.size();
+        }
+        
+        return this.queryParams;
+    }
+    
+    static String encodeQueryParams(String uri, List<ApiElement> elements) {
         StringBuilder queryParam = null;
         
-        for (ApiElement element : this.elements) {
+        for (ApiElement element : elements) {
             if (element.getType() == ApiElementType.PATHPARAM) {
                 if (queryParam == null) {
-                    if (this.uri.contains("?")) {
+                    if (uri.contains("?")) {
                         queryParam = new StringBuilder("&");
                     } else {
                         queryParam = new StringBuilder("?");
@@ -0,0 +1,34 @@
+package com.laboratorio.clientapilibrary.model;
+
+import com.laboratorio.clientapilibrary.exceptions.ApiClientException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Resultado de una petición ejecutada dentro de un lote: contiene la respuesta
+ * o el error producido, sin lanzar la excepción.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+
+@Getter @AllArgsConstructor
+public class ApiRequestResult {
+    private final ApiRequest request;
+    private final ApiResponse response;
+    private final ApiClientException error;
+    
+    public static ApiRequestResult success(ApiRequest request, ApiResponse response) {
+        return new ApiRequestResult(request, response, null);
+    }
+    
+    public static ApiRequestResult failure(ApiRequest request, ApiClientException error) {
+        return new ApiRequestResult(request, null, error);
+    }
+    
+    public boolean isSuccess() {
+        return this.error == null;
+    }
+}
@@ -0,0 +1,81 @@
+package com.laboratorio.clientapilibrary.model;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Plantilla inmutable de una petición que se envía muchas veces con la misma
+ * forma, como en los bucles de consulta. Se crea a partir de una ApiRequest ya
+ * configurada y calcula una sola vez la query y el host. Las peticiones que
+ * devuelve comparten sus listas hasta que se les añade algún elemento, y sus
+ * elementos no se pueden modificar.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+
+@Getter
+public class ApiRequestTemplate {
+    private final String uri;
+    private final int okResponse;
+    private final ApiMethodType method;
+    private final List<ApiElement> elements;
+    private final List<String> cookies;
+    private final String payload;
+    private final File binaryFile;
+    private final boolean formData;
+    private final ApiProgressListener progressListener;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Duration timeout;
+    private final ApiRetryPolicy retryPolicy;
+    private final String rateLimitAccount;
+    private final String payloadEncoding;
+    private final int payloadCompressionThreshold;
+    private final ApiProtocol protocol;
+    private final Integer priority;
+    // Valores precalculados que comparten todas las peticiones de la plantilla
+    private final String host;
+    private final String queryParams;
+    
+    // El token de cancelación no se copia porque pertenece a cada ejecución
+    public ApiRequestTemplate(ApiRequest prototype) {
+        this.uri = prototype.getUri();
+        this.okResponse = prototype.getOkResponse();
+        this.method = prototype.getMethod();
+        // Los elementos se copian como inmutables para que ni el prototipo ni las peticiones creadas alteren la plantilla
+        this.elements = List.copyOf(prototype.getUnmodifiableElements().stream()
+                .map(ImmutableApiElement::new).toList());
+        this.cookies = List.copyOf(prototype.getUnmodifiableCookies());
+        this.payload = prototype.getPayload();
+        this.binaryFile = prototype.getBinaryFile();
+        this.formData = prototype.isFormData();
+        this.progressListener = prototype.getProgressListener();
+        this.connectTimeout = prototype.getConnectTimeout();
+        this.readTimeout = prototype.getReadTimeout();
+        this.timeout = prototype.getTimeout();
+        this.retryPolicy = prototype.getRetryPolicy();
+        this.rateLimitAccount = prototype.getRateLimitAccount();
+        this.payloadEncoding = prototype.getPayloadEncoding();
+        this.payloadCompressionThreshold = prototype.getPayloadCompressionThreshold();
+        this.protocol = prototype.getProtocol();
+        this.priority = prototype.getPriority();
+        this.host = ApiRequest.parseHost(this.uri);
+        this.queryParams = ApiRequest.encodeQueryParams(this.uri, this.elements);
+    }
+    
+    public ApiRequest newRequest() {
+        return new ApiRequest(this);
+    }
+    
+    // Atajo para la petición de la plantilla con un parámetro variable, como el cursor de paginación
+    public ApiRequest newRequest(String name, String value) {
+        ApiRequest request = new ApiRequest(this);
+        request.addApiPathParam(name, value);
+        return request;
+    }
+}
@@ -1,22 +1,132 @@
 package com.laboratorio.clientapilibrary.model;
 
+import com.laboratorio.clientapilibrary.exceptions.ApiClientException;
+import com.laboratorio.clientapilibrary.utils.BufferPool;
+import com.laboratorio.clientapilibrary.utils.ContentDecoder;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
 /**
- *
+ * Respuesta de una petición. El cuerpo se guarda tal y como llegó y solo se
+ * descomprime y decodifica cuando se consulta.
+ * 
  * @author Rafael
  * @version 1.0
  * @created 03/10/2024
- * @updated 04/10/2024
+ * @updated 17/10/2026
  */
 
-@Getter @Setter @AllArgsConstructor
+@Getter
 public class ApiResponse {
     private Map<String, List<String>> httpHeaders;
     private List<String> cookies;
-    private String responseStr;
-}
\ No newline at end of file
+    private final String contentType;
+    private final String contentEncoding;
+    private final byte[] rawBody;
+    // Protocolo negociado con el servidor (null si no se conoce, como en las respuestas de la caché)
+    @Setter
+    private ApiProtocol protocol;
+    // Cuerpo descomprimido y texto decodificado, calculados bajo demanda
+    private volatile byte[] bodyBytes;
+    private volatile String responseStr;
+
+    public ApiResponse(Map<String, List<String>> httpHeaders, List<String> cookies, String responseStr) {
+        this.httpHeaders = httpHeaders;
+        this.cookies = cookies;
+        this.contentType = null;
+        this.contentEncoding = null;
+        this.rawBody = (responseStr == null) ? new byte[0] : responseStr.getBytes(StandardCharsets.UTF_8);
+        this.bodyBytes = this.rawBody;
+        this.responseStr = responseStr;
+    }
+    
+    public ApiResponse(Map<String, List<String>> httpHeaders, List<String> cookies, String contentType, String contentEncoding, byte[] rawBody) {
+        this.httpHeaders = httpHeaders;
+        this.cookies = cookies;
+        this.contentType = contentType;
+        this.contentEncoding = contentEncoding;
+        this.rawBody = (rawBody == null) ? new byte[0] : rawBody;
+    }
+    
+    public void setHttpHeaders(Map<String, List<String>> httpHeaders) {
+        this.httpHeaders = httpHeaders;
+    }
+
+    public void setCookies(List<String> cookies) {
+        this.cookies = cookies;
+    }
+
+    public void setResponseStr(String responseStr) {
+        this.responseStr = responseStr;
+    }
+    
+    // Cuerpo descomprimido según el Content-Encoding. Se calcula una sola vez
+    public byte[] getBodyBytes() {
+        byte[] bytes = this.bodyBytes;
+        if (bytes == null) {
+            if (this.contentEncoding == null) {
+                bytes = this.rawBody;
+            } else {
+                try (InputStream decoded = this.getBodyStream()) {
+                    bytes = BufferPool.readAllBytes(decoded, -1);
+                } catch (IOException e) {
+                    throw new ApiClientException(ApiResponse.class.getName(), "Error descomprimiendo el cuerpo de la respuesta: " + e.getMessage());
+                }
+            }
+            this.bodyBytes = bytes;
+        }
+        
+        return bytes;
+    }
+    
+    // Texto del cuerpo con el charset indicado en el Content-Type o UTF-8 por defecto
+    public String getResponseStr() {
+        String str = this.responseStr;
+        if (str == null) {
+            str = new String(this.getBodyBytes(), this.getCharset());
+            this.responseStr = str;
+        }
+        
+        return str;
+    }
+    
+    public String getBodyAsString() {
+        return this.getResponseStr();
+    }
+    
+    public String getBodyAsString(Charset charset) {
+        if (charset.equals(this.getCharset())) {
+            return this.getResponseStr();
+        }
+        
+        return new String(this.getBodyBytes(), charset);
+    }
+    
+    public Charset getCharset() {
+        return ContentDecoder.getCharset(this.contentType);
+    }
+    
+    // Stream del cuerpo que se descomprime al vuelo, sin copiar el resultado en memoria
+    public InputStream getBodyStream() throws IOException {
+        byte[] bytes = this.bodyBytes;
+        if (bytes != null) {
+            return new ByteArrayInputStream(bytes);
+        }
+        
+        return ContentDecoder.decode(this.contentEncoding, new ByteArrayInputStream(this.rawBody));
+    }
+    
+    public Reader getReader() throws IOException {
+        return new BufferedReader(new InputStreamReader(this.getBodyStream(), this.getCharset()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.laboratorio.clientapilibrary.model;
+
+import java.io.IOException;
+
+/**
+ * Procesa el cuerpo de una respuesta en streaming.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+@FunctionalInterface
+public interface ApiResponseHandler<T> {
+    T handle(ApiStreamResponse response) throws IOException;
+}
@@ -0,0 +1,78 @@
+package com.laboratorio.clientapilibrary.model;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Política de reintentos de las peticiones: espera exponencial con jitter,
+ * respetando la cabecera Retry-After de la respuesta.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ApiRetryPolicy {
+    // Número máximo de intentos, incluido el primero
+    private int maxAttempts = 3;
+    // Espera base antes del primer reintento; se multiplica en cada uno
+    private Duration initialBackoff = Duration.ofMillis(200);
+    private double multiplier = 2.0;
+    private Duration maxBackoff = Duration.ofSeconds(10);
+    // Si el servidor pide esperar más que esto, no se reintenta
+    private Duration maxRetryAfter = Duration.ofSeconds(60);
+    // Códigos de respuesta que indican un fallo transitorio
+    private Set<Integer> retryableStatuses = Set.of(429, 502, 503, 504);
+    // Por defecto solo se reintentan los métodos idempotentes
+    private boolean retryNonIdempotent = false;
+    
+    public static ApiRetryPolicy none() {
+        ApiRetryPolicy policy = new ApiRetryPolicy();
+        policy.setMaxAttempts(1);
+        return policy;
+    }
+    
+    public boolean canRetry(ApiMethodType method) {
+        return this.retryNonIdempotent || (method != ApiMethodType.POST && method != ApiMethodType.PATCH);
+    }
+    
+    public boolean isRetryableStatus(int statusCode) {
+        return this.retryableStatuses.contains(statusCode);
+    }
+    
+    // Espera antes del reintento indicado (1 el primero) en nanosegundos, con jitter completo
+    public long getBackoffNanos(int retry) {
+        double backoff = this.initialBackoff.toNanos() * Math.pow(this.multiplier, retry - 1);
+        long limit = (long) Math.min(backoff, this.maxBackoff.toNanos());
+        return ThreadLocalRandom.current().nextLong(limit + 1);
+    }
+    
+    // Retry-After admite segundos o una fecha HTTP. Devuelve null si no se puede interpretar
+    public static Duration parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return null;
+        }
+        
+        String value = retryAfter.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0L, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            try {
+                Duration delay = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException ex) {
+                return null;
+            }
+        }
+    }
+}
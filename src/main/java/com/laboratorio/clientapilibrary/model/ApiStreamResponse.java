@@ -0,0 +1,49 @@
+package com.laboratorio.clientapilibrary.model;
+
+import com.laboratorio.clientapilibrary.utils.ContentDecoder;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Respuesta cuyo cuerpo se lee en streaming y se descomprime al vuelo.
+ * Debe cerrarse para liberar la conexión.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+
+@Getter @AllArgsConstructor
+public class ApiStreamResponse implements Closeable {
+    private final int statusCode;
+    private final Map<String, List<String>> httpHeaders;
+    private final List<String> cookies;
+    private final String contentType;
+    private final InputStream inputStream;
+    private final Closeable onClose;
+    
+    // Lector del cuerpo con el charset indicado en el Content-Type
+    public Reader getReader() {
+        return new BufferedReader(new InputStreamReader(this.inputStream, ContentDecoder.getCharset(this.contentType)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.inputStream.close();
+        } finally {
+            if (this.onClose != null) {
+                this.onClose.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.laboratorio.clientapilibrary.model;
+
+/**
+ * Elemento de una plantilla de petición. Lo comparten todas las peticiones creadas
+ * desde la plantilla, por lo que no se puede modificar.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+class ImmutableApiElement extends ApiElement {
+    
+    ImmutableApiElement(ApiElement element) {
+        super(element.getType(), element.getName(), element.getValueType(), element.getValue());
+    }
+    
+    ApiElement copy() {
+        return new ApiElement(this.getType(), this.getName(), this.getValueType(), this.getValue());
+    }
+    
+    @Override
+    public void setType(ApiElementType type) {
+        throw new UnsupportedOperationException("Los elementos de una plantilla no se pueden modificar");
+    }
+    
+    @Override
+    public void setName(String name) {
+        throw new UnsupportedOperationException("Los elementos de una plantilla no se pueden modificar");
+    }
+    
+    @Override
+    public void setValueType(ApiValueType valueType) {
+        throw new UnsupportedOperationException("Los elementos de una plantilla no se pueden modificar");
+    }
+    
+    @Override
+    public void setValue(String value) {
+        throw new UnsupportedOperationException("Los elementos de una plantilla no se pueden modificar");
+    }
+}
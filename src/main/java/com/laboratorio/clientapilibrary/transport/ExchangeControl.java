@@ -0,0 +1,59 @@
+package com.laboratorio.clientapilibrary.transport;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Permite abortar un intercambio HTTP en curso desde otro hilo, ya sea por
+ * superar el plazo o por cancelación. El transporte registra cómo abortarlo.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class ExchangeControl {
+    private static final Logger log = LogManager.getLogger(ExchangeControl.class);
+    
+    public enum AbortReason {
+        TIMEOUT, CANCELLED
+    }
+    
+    private final AtomicReference<AbortReason> abortReason = new AtomicReference<>();
+    private final List<Runnable> abortActions = new CopyOnWriteArrayList<>();
+    
+    // Registra una acción para abortar el intercambio; si ya se abortó se ejecuta en el acto
+    public void onAbort(Runnable action) {
+        this.abortActions.add(action);
+        if (this.abortReason.get() != null) {
+            this.run(action);
+        }
+    }
+    
+    public void abort(AbortReason reason) {
+        if (this.abortReason.compareAndSet(null, reason)) {
+            for (Runnable action : this.abortActions) {
+                this.run(action);
+            }
+        }
+    }
+    
+    private void run(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.warn("Error abortando la solicitud: " + e.getMessage());
+        }
+    }
+    
+    public AbortReason getAbortReason() {
+        return this.abortReason.get();
+    }
+    
+    public boolean isAborted() {
+        return this.abortReason.get() != null;
+    }
+}
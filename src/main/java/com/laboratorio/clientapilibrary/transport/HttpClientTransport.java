@@ -0,0 +1,274 @@
+package com.laboratorio.clientapilibrary.transport;
+
+import com.laboratorio.clientapilibrary.model.ApiElement;
+import com.laboratorio.clientapilibrary.model.ApiElementType;
+import com.laboratorio.clientapilibrary.model.ApiProtocol;
+import com.laboratorio.clientapilibrary.model.ApiRequest;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Transporte basado en java.net.http.HttpClient. Un único cliente compartido
+ * mantiene el pool de conexiones (keep-alive y sesiones TLS) y negocia HTTP/2.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class HttpClientTransport implements HttpTransport {
+    private static final Logger log = LogManager.getLogger(HttpClientTransport.class);
+    // Cabeceras que HttpClient gestiona por sí mismo y no permite fijar
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+    
+    // Tiempo de conexión del cliente compartido, el mismo que usa ApiClient por defecto
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(30);
+    
+    @Getter
+    private final HttpClient httpClient;
+
+    public HttpClientTransport() {
+        this.httpClient = SharedClientHolder.INSTANCE;
+    }
+    
+    public HttpClientTransport(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+    
+    // El cliente por defecto se crea una sola vez y se comparte entre todos los ApiClient. HttpClient fija
+    // el tiempo de conexión al construirse; el de cada petición se suma a su tiempo máximo de respuesta
+    private static class SharedClientHolder {
+        private static final HttpClient INSTANCE = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(DEFAULT_CONNECT_TIMEOUT)
+                .build();
+    }
+    
+    // Primeras peticiones HTTP/2 en curso por cliente y origen. Mientras llegan sus cabeceras, las peticiones
+    // concurrentes al mismo origen esperan para multiplexarse sobre su conexión en lugar de abrir una cada una
+    private static final Map<ConnectionKey, CompletableFuture<Void>> CONNECTING = new ConcurrentHashMap<>();
+    // Espera máxima a esa conexión; pasado el tiempo la petición se envía por su cuenta
+    private static final Duration MAX_CONNECTION_WAIT = Duration.ofSeconds(1);
+    
+    private record ConnectionKey(HttpClient client, String origin) {
+    }
+    
+    public static HttpClient getSharedHttpClient() {
+        return SharedClientHolder.INSTANCE;
+    }
+
+    @Override
+    public TransportResponse send(ApiRequest request, TransportOptions options) throws IOException {
+        HttpRequest httpRequest = this.buildHttpRequest(request, options);
+        
+        // Se usa sendAsync para poder abortar el intercambio desde otro hilo cancelando el futuro
+        CompletableFuture<HttpResponse<InputStream>> future = this.sendMultiplexed(this.httpClient, 
+                httpRequest, HttpResponse.BodyHandlers.ofInputStream(), options);
+        
+        try {
+            HttpResponse<InputStream> response = future.get();
+            options.markHeadersReceived();
+            // El tiempo de lectura limita además cada lectura del cuerpo
+            InputStream body = (options.getReadTimeout() != null) 
+                    ? new ReadTimeoutInputStream(response.body(), options.getReadTimeout()) : response.body();
+            // Una vez recibidas las cabeceras, abortar consiste en cerrar el cuerpo
+            options.getControl().onAbort(() -> this.closeQuietly(body));
+            return new TransportResponse(response.statusCode(), response.headers().map(), body, null, getProtocol(response));
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Se interrumpió la solicitud: " + request.getUri());
+        } catch (CancellationException e) {
+            throw new IOException("Se abortó la solicitud: " + request.getUri(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioe) {
+                throw ioe;
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+    
+    private void closeQuietly(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException e) {
+            log.debug("Error cerrando el cuerpo de la respuesta: " + e.getMessage());
+        }
+    }
+    
+    // El cuerpo se recibe completo de forma asíncrona, sin ocupar ningún hilo mientras llega
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(ApiRequest request, TransportOptions options, Executor executor) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = this.buildHttpRequest(request, options);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        // Se anota la llegada de las cabeceras antes de empezar a recibir el cuerpo, cuyos fragmentos
+        // deben llegar dentro del tiempo de lectura
+        CompletableFuture<HttpResponse<byte[]>> future = this.sendMultiplexed(this.httpClient, httpRequest, responseInfo -> {
+            options.markHeadersReceived();
+            HttpResponse.BodySubscriber<byte[]> subscriber = HttpResponse.BodyHandlers.ofByteArray().apply(responseInfo);
+            return (options.getReadTimeout() != null) ? new ReadTimeoutSubscriber<>(subscriber, options.getReadTimeout()) : subscriber;
+        }, options);
+        
+        return future.thenApply(response -> {
+            options.markBodyReceived();
+            return new TransportResponse(response.statusCode(), response.headers().map(), 
+                    new ByteArrayInputStream(response.body()), null, getProtocol(response));
+        });
+    }
+    
+    // Envía la petición enlazando su cancelación con el control del intercambio. Con HTTP/2 pedido de forma
+    // explícita, la primera petición a un origen abre la conexión y las que llegan mientras tanto esperan a
+    // sus cabeceras, como mucho el menor de sus tiempos máximos y MAX_CONNECTION_WAIT
+    private <T> CompletableFuture<HttpResponse<T>> sendMultiplexed(HttpClient client, HttpRequest httpRequest, 
+            HttpResponse.BodyHandler<T> handler, TransportOptions options) {
+        if ((options.getProtocol() != ApiProtocol.HTTP_2) || !"https".equalsIgnoreCase(httpRequest.uri().getScheme())) {
+            return this.sendControlled(client, httpRequest, handler, options);
+        }
+        
+        URI uri = httpRequest.uri();
+        ConnectionKey key = new ConnectionKey(client, uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort());
+        CompletableFuture<Void> connected = new CompletableFuture<>();
+        CompletableFuture<Void> pending = CONNECTING.putIfAbsent(key, connected);
+        
+        if (pending == null) {
+            // La entrada solo vive hasta que la conexión responde o falla; después la reutiliza HttpClient
+            connected.whenComplete((v, t) -> CONNECTING.remove(key, connected));
+            CompletableFuture<HttpResponse<T>> future = this.sendControlled(client, httpRequest, responseInfo -> {
+                connected.complete(null);
+                return handler.apply(responseInfo);
+            }, options);
+            future.whenComplete((response, t) -> connected.complete(null));
+            return future;
+        }
+        
+        log.debug("Se espera a la conexión HTTP/2 en curso con " + key.origin());
+        CompletableFuture<HttpResponse<T>> future = pending.copy()
+                .completeOnTimeout(null, getConnectionWait(options).toMillis(), TimeUnit.MILLISECONDS)
+                .thenCompose(v -> this.sendControlled(client, httpRequest, handler, options));
+        options.getControl().onAbort(() -> future.cancel(true));
+        return future;
+    }
+    
+    private static Duration getConnectionWait(TransportOptions options) {
+        Duration wait = MAX_CONNECTION_WAIT;
+        if ((options.getConnectTimeout() != null) && (options.getConnectTimeout().compareTo(wait) < 0)) {
+            wait = options.getConnectTimeout();
+        }
+        if ((options.getReadTimeout() != null) && (options.getReadTimeout().compareTo(wait) < 0)) {
+            wait = options.getReadTimeout();
+        }
+        
+        return wait;
+    }
+    
+    private <T> CompletableFuture<HttpResponse<T>> sendControlled(HttpClient client, HttpRequest httpRequest, 
+            HttpResponse.BodyHandler<T> handler, TransportOptions options) {
+        CompletableFuture<HttpResponse<T>> future = client.sendAsync(httpRequest, handler);
+        options.getControl().onAbort(() -> future.cancel(true));
+        return future;
+    }
+    
+    private static ApiProtocol getProtocol(HttpResponse<?> response) {
+        return (response.version() == HttpClient.Version.HTTP_2) ? ApiProtocol.HTTP_2 : ApiProtocol.HTTP_1_1;
+    }
+    
+    protected HttpRequest buildHttpRequest(ApiRequest request, TransportOptions options) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.getUri() + request.getQueryParams()));
+        // En HttpClient el tiempo máximo de la petición abarca la conexión y la espera de las cabeceras,
+        // así que se suman los tiempos de conexión y de lectura que estén indicados. La conexión sigue
+        // limitada además por la del cliente compartido (DEFAULT_CONNECT_TIMEOUT)
+        if ((options.getConnectTimeout() != null) || (options.getReadTimeout() != null)) {
+            Duration connectTimeout = (options.getConnectTimeout() != null) ? options.getConnectTimeout() : Duration.ZERO;
+            Duration readTimeout = (options.getReadTimeout() != null) ? options.getReadTimeout() : Duration.ZERO;
+            builder.timeout(connectTimeout.plus(readTimeout));
+        }
+        // Si el servidor no admite HTTP/2, HttpClient continúa con HTTP/1.1
+        if (options.getProtocol() != null) {
+            builder.version((options.getProtocol() == ApiProtocol.HTTP_2) ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+        }
+
+        // Se agregan las cabeceras a la petición
+        for (ApiElement element : request.getUnmodifiableElements()) {
+            if (element.getType() == ApiElementType.HEADER) {
+                if (RESTRICTED_HEADERS.contains(element.getName().toLowerCase()) || options.hasHeader(element.getName())) {
+                    log.debug("Se ignora la cabecera gestionada por el transporte: " + element.getName());
+                    continue;
+                }
+                builder.header(element.getName(), element.getValue());
+                log.debug(element.getName() + ": " + element.getValue());
+            }
+        }
+
+        // Se agregan las cabeceras calculadas para esta ejecución
+        for (Map.Entry<String, String> header : options.getHeaders().entrySet()) {
+            builder.header(header.getKey(), header.getValue());
+        }
+
+        // Se agregan las cookies a la petición
+        if (!options.hasHeader("Cookie") && !request.getUnmodifiableCookies().isEmpty()) {
+            builder.header("Cookie", String.join("; ", request.getUnmodifiableCookies()));
+        }
+
+        HttpRequest.BodyPublisher publisher = this.getBodyPublisher(request, options, builder);
+        if (request.getProgressListener() != null) {
+            publisher = new ProgressBodyPublisher(publisher, new ProgressTracker(request.getProgressListener(), publisher.contentLength()));
+        }
+        builder.method(request.getMethod().name(), publisher);
+        options.setBytesSent(Math.max(0L, publisher.contentLength()));
+        
+        return builder.build();
+    }
+    
+    private HttpRequest.BodyPublisher getBodyPublisher(ApiRequest request, TransportOptions options, HttpRequest.Builder builder) throws IOException {
+        if (request.getPayload() != null) {         // El cuerpo es un JSON
+            builder.setHeader("Content-Type", "application/json");
+            if (options.getEncodedPayload() != null) {
+                return HttpRequest.BodyPublishers.ofByteArray(options.getEncodedPayload());
+            }
+            return HttpRequest.BodyPublishers.ofString(request.getPayload(), StandardCharsets.UTF_8);
+        }
+        
+        if (request.getBinaryFile() != null) {      // El cuerpo es un fichero binario
+            builder.setHeader("Cache-Control", "no-cache");
+            log.debug("Content-Length: " + String.valueOf(request.getBinaryFile().length()));
+            return HttpRequest.BodyPublishers.ofFile(request.getBinaryFile().toPath());
+        }
+        
+        if (request.isFormData()) {                 // El cuerpo es un FormData
+            MultipartFormData multipart = new MultipartFormData(request);
+            builder.setHeader("Content-Type", multipart.getContentType());
+            log.debug("Content-Type: " + multipart.getContentType());
+            return multipart.toBodyPublisher();
+        }
+        
+        return HttpRequest.BodyPublishers.noBody();
+    }
+}
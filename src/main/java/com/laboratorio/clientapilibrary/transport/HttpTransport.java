@@ -0,0 +1,38 @@
+package com.laboratorio.clientapilibrary.transport;
+
+import com.laboratorio.clientapilibrary.model.ApiRequest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Motor de transporte HTTP utilizado por ApiClient para ejecutar las peticiones.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public interface HttpTransport {
+    // Envía la petición y devuelve la respuesta sin procesar (el cuerpo puede venir comprimido)
+    TransportResponse send(ApiRequest request, TransportOptions options) throws IOException;
+    
+    default TransportResponse send(ApiRequest request) throws IOException {
+        return this.send(request, new TransportOptions());
+    }
+    
+    // Envía la petición sin bloquear al llamante. Los transportes que no son asíncronos
+    // ejecutan el envío bloqueante en el executor indicado o en un hilo virtual
+    default CompletableFuture<TransportResponse> sendAsync(ApiRequest request, TransportOptions options, Executor executor) {
+        Executor runner = (executor != null) ? executor : task -> Thread.ofVirtual().start(task);
+        
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return this.send(request, options);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, runner);
+    }
+}
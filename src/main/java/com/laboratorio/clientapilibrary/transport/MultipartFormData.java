@@ -0,0 +1,153 @@
+package com.laboratorio.clientapilibrary.transport;
+
+import com.laboratorio.clientapilibrary.model.ApiElement;
+import com.laboratorio.clientapilibrary.model.ApiElementType;
+import com.laboratorio.clientapilibrary.model.ApiRequest;
+import com.laboratorio.clientapilibrary.model.ApiValueType;
+import com.laboratorio.clientapilibrary.utils.ImageMetadata;
+import com.laboratorio.clientapilibrary.utils.PostUtils;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Codificador del cuerpo multipart/form-data de una petición. El cuerpo se envía
+ * en streaming y su tamaño se calcula sin leer los ficheros.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class MultipartFormData {
+    private static final Logger log = LogManager.getLogger(MultipartFormData.class);
+    private static final String LINE_FEED = "\r\n";
+    
+    private final ApiRequest request;
+    @Getter
+    private final String boundary;
+    // Cada parte es un byte[] ya codificado o el Path de un fichero
+    private List<Object> parts;
+
+    public MultipartFormData(ApiRequest request) {
+        this.request = request;
+        // Generar un boundary único
+        this.boundary = "----WebKitFormBoundary" + UUID.randomUUID().toString();
+    }
+    
+    public String getContentType() {
+        return "multipart/form-data; boundary=" + this.boundary;
+    }
+    
+    private String getElementHeader(ApiElement element) {
+        StringBuilder builder = new StringBuilder();
+
+        if (element.getValueType() == ApiValueType.FILE) {
+            ImageMetadata metadata = PostUtils.extractImageMetadata(element.getValue());
+            File imageFile = new File(element.getValue());
+            builder.append("--").append(this.boundary).append(LINE_FEED);
+            builder.append("Content-Disposition: form-data; name=\"");
+            builder.append(element.getName()).append("\"; filename=\"").append(imageFile.getName()).append("\"").append(LINE_FEED);
+            builder.append("Content-Type: ").append(metadata.getMimeType()).append(LINE_FEED);
+            builder.append(LINE_FEED);
+        } else {
+            builder.append("--").append(this.boundary).append(LINE_FEED);
+            builder.append("Content-Disposition: form-data; name=\"").append(element.getName()).append("\"").append(LINE_FEED);
+            builder.append("Content-Type: text/plain; charset=UTF-8").append(LINE_FEED);
+            builder.append(LINE_FEED);
+        }
+
+        log.debug("Se agregó un elemento al Formdata: " + builder.toString());
+
+        return builder.toString();
+    }
+    
+    // Se preparan las partes del formulario: las cabeceras y los textos se codifican una vez
+    // y los ficheros se referencian por su ruta para enviarlos en streaming
+    private List<Object> getParts() {
+        if (this.parts != null) {
+            return this.parts;
+        }
+        
+        List<Object> result = new ArrayList<>();
+        for (ApiElement element : this.request.getUnmodifiableElements()) {
+            if (element.getType() == ApiElementType.FORMDATA) {
+                String elementHeader = this.getElementHeader(element);
+
+                // Se agrega el valor del elemento
+                if (element.getValueType() == ApiValueType.FILE) {
+                    result.add(elementHeader.getBytes(StandardCharsets.UTF_8));
+                    result.add(Path.of(element.getValue()));
+                    result.add(LINE_FEED.getBytes(StandardCharsets.UTF_8));
+                } else {
+                    String temp = elementHeader + element.getValue() + LINE_FEED;
+                    result.add(temp.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        // Terminar la solicitud multipart
+        String temp = "--" + this.boundary + "--" + LINE_FEED;
+        result.add(temp.getBytes(StandardCharsets.UTF_8));
+        
+        this.parts = result;
+        return result;
+    }
+    
+    // Tamaño total del cuerpo calculado a partir de las cabeceras y del tamaño de los ficheros
+    public long getContentLength() throws IOException {
+        long length = 0L;
+        
+        for (Object part : this.getParts()) {
+            if (part instanceof Path path) {
+                length += Files.size(path);
+            } else {
+                length += ((byte[]) part).length;
+            }
+        }
+        
+        return length;
+    }
+    
+    // Escribe el cuerpo en el stream de salida sin cargar los ficheros en memoria
+    public void writeTo(OutputStream outputStream, ProgressTracker tracker) throws IOException {
+        for (Object part : this.getParts()) {
+            if (part instanceof Path path) {
+                FileTransfer.transfer(path, outputStream, tracker);
+            } else {
+                byte[] bytes = (byte[]) part;
+                outputStream.write(bytes);
+                if (tracker != null) {
+                    tracker.advance(bytes.length);
+                }
+            }
+        }
+        
+        outputStream.flush();
+    }
+    
+    // Publicador para HttpClient: concatena las partes y conoce el Content-Length de antemano
+    public HttpRequest.BodyPublisher toBodyPublisher() throws IOException {
+        List<HttpRequest.BodyPublisher> publishers = new ArrayList<>();
+        
+        for (Object part : this.getParts()) {
+            if (part instanceof Path path) {
+                publishers.add(HttpRequest.BodyPublishers.ofFile(path));
+            } else {
+                publishers.add(HttpRequest.BodyPublishers.ofByteArray((byte[]) part));
+            }
+        }
+        
+        return HttpRequest.BodyPublishers.concat(publishers.toArray(HttpRequest.BodyPublisher[]::new));
+    }
+}
@@ -0,0 +1,45 @@
+package com.laboratorio.clientapilibrary.transport;
+
+import com.laboratorio.clientapilibrary.model.ApiProgressListener;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Acumula los bytes enviados y notifica al ApiProgressListener de la petición.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class ProgressTracker {
+    // Se notifica como mucho una vez por cada bloque enviado, además de al terminar
+    public static final long NOTIFY_BYTES = 1024L * 1024L;
+    
+    private final ApiProgressListener listener;
+    private final long totalBytes;
+    private final long start;
+    private final AtomicLong bytesSent;
+    private final AtomicLong notifiedBytes;
+
+    public ProgressTracker(ApiProgressListener listener, long totalBytes) {
+        this.listener = listener;
+        this.totalBytes = totalBytes;
+        this.start = System.nanoTime();
+        this.bytesSent = new AtomicLong();
+        this.notifiedBytes = new AtomicLong();
+    }
+    
+    public void advance(long bytes) {
+        long sent = this.bytesSent.addAndGet(bytes);
+        long notified = this.notifiedBytes.get();
+        if ((sent != this.totalBytes) && (sent - notified < NOTIFY_BYTES)) {
+            return;
+        }
+        if (!this.notifiedBytes.compareAndSet(notified, sent)) {
+            return;
+        }
+        
+        double seconds = (System.nanoTime() - this.start) / 1_000_000_000.0;
+        this.listener.onProgress(sent, this.totalBytes, (seconds > 0) ? sent / seconds : 0.0);
+    }
+}
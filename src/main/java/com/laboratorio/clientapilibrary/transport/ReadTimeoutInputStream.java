@@ -0,0 +1,76 @@
+package com.laboratorio.clientapilibrary.transport;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+
+/**
+ * Cuerpo de una respuesta de HttpClient en el que cada lectura está limitada
+ * por el tiempo de lectura. Si vence, se cierra el cuerpo para desbloquear la
+ * lectura y se lanza SocketTimeoutException, igual que en HttpURLConnection.
+ *
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+class ReadTimeoutInputStream extends FilterInputStream {
+    private final ReadTimeoutWatchdog watchdog;
+
+    ReadTimeoutInputStream(InputStream in, Duration readTimeout) {
+        super(in);
+        this.watchdog = new ReadTimeoutWatchdog(readTimeout, this::closeQuietly);
+    }
+
+    @Override
+    public int read() throws IOException {
+        this.watchdog.waiting();
+        try {
+            int value = super.read();
+            this.checkExpired();
+            return value;
+        } catch (IOException e) {
+            this.checkExpired();
+            throw e;
+        } finally {
+            this.watchdog.received();
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        this.watchdog.waiting();
+        try {
+            int read = this.in.read(b, off, len);
+            this.checkExpired();
+            return read;
+        } catch (IOException e) {
+            this.checkExpired();
+            throw e;
+        } finally {
+            this.watchdog.received();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.watchdog.stop();
+        super.close();
+    }
+
+    private void checkExpired() throws SocketTimeoutException {
+        if (this.watchdog.isExpired()) {
+            throw new SocketTimeoutException("Read timed out");
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            this.in.close();
+        } catch (IOException e) {
+            // El cuerpo se cierra para desbloquear la lectura; el error se notifica al leer
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.laboratorio.clientapilibrary.transport;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recepción asíncrona de un cuerpo en la que el tiempo entre dos fragmentos
+ * está limitado por el tiempo de lectura. Si vence, se cancela la recepción y
+ * la respuesta falla con SocketTimeoutException.
+ *
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+class ReadTimeoutSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+    private final HttpResponse.BodySubscriber<T> delegate;
+    private final ReadTimeoutWatchdog watchdog;
+    private final AtomicBoolean done = new AtomicBoolean();
+    private volatile Flow.Subscription subscription;
+
+    ReadTimeoutSubscriber(HttpResponse.BodySubscriber<T> delegate, Duration readTimeout) {
+        this.delegate = delegate;
+        this.watchdog = new ReadTimeoutWatchdog(readTimeout, this::expire);
+        this.watchdog.waiting();
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+        return this.delegate.getBody();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        this.delegate.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> item) {
+        if (!this.done.get()) {
+            this.watchdog.waiting();
+            this.delegate.onNext(item);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (this.done.compareAndSet(false, true)) {
+            this.watchdog.stop();
+            this.delegate.onError(throwable);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (this.done.compareAndSet(false, true)) {
+            this.watchdog.stop();
+            this.delegate.onComplete();
+        }
+    }
+
+    // El cuerpo falla antes de cancelar la recepción para que la respuesta no reciba el error del cierre
+    private void expire() {
+        if (this.done.compareAndSet(false, true)) {
+            this.delegate.onError(new SocketTimeoutException("Read timed out"));
+            Flow.Subscription current = this.subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.laboratorio.clientapilibrary.transport;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vigila el tiempo que se espera a los datos del cuerpo de una respuesta y
+ * ejecuta la acción indicada si una espera supera el tiempo de lectura, como
+ * hace setReadTimeout en HttpURLConnection. Un único hilo compartido revisa
+ * todas las respuestas y solo se reprograma cuando vence cada comprobación.
+ *
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+class ReadTimeoutWatchdog {
+    private final long timeoutNanos;
+    private final Runnable onTimeout;
+    // Inicio de la espera en curso (-1 si no se está esperando datos)
+    private volatile long waitingSince = -1L;
+    private volatile boolean stopped;
+    private volatile boolean expired;
+    private volatile ScheduledFuture<?> task;
+
+    private static class SchedulerHolder {
+        private static final ScheduledThreadPoolExecutor INSTANCE = createScheduler();
+
+        private static ScheduledThreadPoolExecutor createScheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "apiclient-read-timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+
+    ReadTimeoutWatchdog(Duration timeout, Runnable onTimeout) {
+        this.timeoutNanos = timeout.toNanos();
+        this.onTimeout = onTimeout;
+        this.schedule(this.timeoutNanos);
+    }
+
+    // Empieza (o vuelve a empezar) una espera de datos
+    void waiting() {
+        this.waitingSince = System.nanoTime();
+    }
+
+    // Han llegado los datos esperados
+    void received() {
+        this.waitingSince = -1L;
+    }
+
+    void stop() {
+        this.stopped = true;
+        ScheduledFuture<?> current = this.task;
+        if (current != null) {
+            current.cancel(false);
+        }
+    }
+
+    boolean isExpired() {
+        return this.expired;
+    }
+
+    private void schedule(long delayNanos) {
+        this.task = SchedulerHolder.INSTANCE.schedule(this::check, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void check() {
+        if (this.stopped) {
+            return;
+        }
+
+        long since = this.waitingSince;
+        long remaining = (since < 0) ? this.timeoutNanos : since + this.timeoutNanos - System.nanoTime();
+        if (remaining > 0) {
+            this.schedule(remaining);
+            return;
+        }
+
+        this.expired = true;
+        this.stopped = true;
+        this.onTimeout.run();
+    }
+}
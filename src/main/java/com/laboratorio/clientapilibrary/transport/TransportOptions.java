@@ -0,0 +1,61 @@
+package com.laboratorio.clientapilibrary.transport;
+
+import com.laboratorio.clientapilibrary.model.ApiProtocol;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Opciones de una ejecución concreta de una petición, calculadas por ApiClient
+ * sin modificar el ApiRequest del llamante.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+
+@Getter
+public class TransportOptions {
+    // Cabeceras que sustituyen a las de la petición con el mismo nombre
+    private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    // Tiempos máximos de conexión y de espera de la respuesta (null sin límite)
+    @Setter
+    private Duration connectTimeout;
+    @Setter
+    private Duration readTimeout;
+    // Versión de HTTP preferida (null para la del transporte). Los transportes HTTP/1.1 la ignoran
+    @Setter
+    private ApiProtocol protocol;
+    // Cuerpo JSON ya comprimido que se envía en lugar del payload (null para enviarlo tal cual)
+    @Setter
+    private byte[] encodedPayload;
+    // Control para abortar el intercambio por plazo o cancelación
+    private final ExchangeControl control = new ExchangeControl();
+    // Medidas que anota el transporte para las métricas (-1 si no las conoce)
+    @Setter
+    private long connectNanos = -1;
+    @Setter
+    private long bytesSent = -1;
+    private long headersReceivedAt = -1;
+    // Solo lo anotan los transportes que reciben el cuerpo completo antes de entregarlo
+    private long bodyReceivedAt = -1;
+    
+    public void setHeader(String name, String value) {
+        this.headers.put(name, value);
+    }
+    
+    public boolean hasHeader(String name) {
+        return this.headers.containsKey(name);
+    }
+    
+    public void markHeadersReceived() {
+        this.headersReceivedAt = System.nanoTime();
+    }
+    
+    public void markBodyReceived() {
+        this.bodyReceivedAt = System.nanoTime();
+    }
+}
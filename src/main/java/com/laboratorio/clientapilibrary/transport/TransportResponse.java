@@ -0,0 +1,80 @@
+package com.laboratorio.clientapilibrary.transport;
+
+import com.laboratorio.clientapilibrary.model.ApiProtocol;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Respuesta sin procesar devuelta por un HttpTransport.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+
+@Getter @AllArgsConstructor
+public class TransportResponse implements Closeable {
+    private final int statusCode;
+    private final Map<String, List<String>> headers;
+    private final InputStream body;
+    private final Closeable onClose;
+    // Protocolo negociado con el servidor (null si no se conoce, como en las respuestas de la caché)
+    private final ApiProtocol protocol;
+    
+    public TransportResponse(int statusCode, Map<String, List<String>> headers, InputStream body, Closeable onClose) {
+        this(statusCode, headers, body, onClose, null);
+    }
+    
+    // Devuelve el primer valor de la cabecera sin distinguir mayúsculas y minúsculas
+    public String getHeader(String name) {
+        List<String> values = this.getHeaderValues(name);
+        if ((values == null) || values.isEmpty()) {
+            return null;
+        }
+        
+        return values.get(0);
+    }
+    
+    // Longitud del cuerpo anunciada en Content-Length o -1 si no se conoce
+    public long getContentLength() {
+        String value = this.getHeader("Content-Length");
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                // Se trata como desconocida
+            }
+        }
+        
+        return -1;
+    }
+    
+    public List<String> getHeaderValues(String name) {
+        for (Map.Entry<String, List<String>> entry : this.headers.entrySet()) {
+            if ((entry.getKey() != null) && entry.getKey().equalsIgnoreCase(name)) {
+                return entry.getValue();
+            }
+        }
+        
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (this.body != null) {
+                this.body.close();
+            }
+        } finally {
+            if (this.onClose != null) {
+                this.onClose.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.laboratorio.clientapilibrary.transport;
+
+import com.laboratorio.clientapilibrary.model.ApiElement;
+import com.laboratorio.clientapilibrary.model.ApiElementType;
+import com.laboratorio.clientapilibrary.model.ApiProtocol;
+import com.laboratorio.clientapilibrary.model.ApiRequest;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Transporte basado en HttpURLConnection: abre una conexión nueva por petición
+ * y la cierra al terminar. Se mantiene por compatibilidad.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class UrlConnectionTransport implements HttpTransport {
+    private static final Logger log = LogManager.getLogger(UrlConnectionTransport.class);
+
+    @Override
+    public TransportResponse send(ApiRequest request, TransportOptions options) throws IOException {
+        HttpURLConnection httpConn = null;
+        
+        try {
+            URL url = new URL(request.getUri() + request.getQueryParams());
+            httpConn = (HttpURLConnection) url.openConnection();
+            if (options.getConnectTimeout() != null) {
+                httpConn.setConnectTimeout(this.toMillis(options.getConnectTimeout()));
+            }
+            if (options.getReadTimeout() != null) {
+                httpConn.setReadTimeout(this.toMillis(options.getReadTimeout()));
+            }
+            // Al abortar se cierra el socket y se desbloquea cualquier lectura o escritura
+            options.getControl().onAbort(httpConn::disconnect);
+            httpConn.setUseCaches(false);
+            httpConn.setDoOutput(true); // habilita salida
+            httpConn.setDoInput(true);  // habilita entrada
+            httpConn.setRequestMethod(request.getMethod().name());
+
+            // Se agregan las cabeceras a la petición
+            for (ApiElement element : request.getUnmodifiableElements()) {
+                if (element.getType() == ApiElementType.HEADER) {
+                    httpConn.setRequestProperty(element.getName(), element.getValue());
+                    log.debug(element.getName() + ": " + element.getValue());
+                }
+            }
+
+            // Se agregan las cabeceras calculadas para esta ejecución
+            for (Map.Entry<String, String> header : options.getHeaders().entrySet()) {
+                httpConn.setRequestProperty(header.getKey(), header.getValue());
+            }
+
+            // Se agregan las cookies a la petición
+            if (!options.hasHeader("Cookie") && !request.getUnmodifiableCookies().isEmpty()) {
+                httpConn.setRequestProperty("Cookie", String.join("; ", request.getUnmodifiableCookies()));
+            }
+
+            // Se contruye el body de la petición
+            long start = System.nanoTime();
+            if (request.getPayload() != null) {         // El cuerpo es un JSON
+                options.setBytesSent(this.processJsonBody(httpConn, request, options));
+            } else {
+                if (request.getBinaryFile() != null) {  // El cuerpo es un fichero binario
+                    options.setBytesSent(this.processBinaryBody(httpConn, request));
+                } else {
+                    if (request.isFormData()) {         // El cuerpo es un FormData
+                        options.setBytesSent(this.processMultipartFormBody(httpConn, request));
+                    } else {
+                        // Sin cuerpo la conexión se abre aparte para poder medirla
+                        httpConn.connect();
+                        options.setConnectNanos(System.nanoTime() - start);
+                        options.setBytesSent(0);
+                    }
+                }
+            }
+
+            // Se ejecuta la petición
+            int responseCode = httpConn.getResponseCode();
+            options.markHeadersReceived();
+            InputStream body = (responseCode >= 400) ? httpConn.getErrorStream() : httpConn.getInputStream();
+            if (body == null) {
+                body = new ByteArrayInputStream(new byte[0]);
+            }
+            
+            final HttpURLConnection connection = httpConn;
+            return new TransportResponse(responseCode, httpConn.getHeaderFields(), body, connection::disconnect, ApiProtocol.HTTP_1_1);
+        } catch (IOException | RuntimeException e) {
+            if (httpConn != null) {
+                httpConn.disconnect();
+            }
+            throw e;
+        }
+    }
+
+    // HttpURLConnection interpreta 0 como sin límite
+    private int toMillis(Duration timeout) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, timeout.toMillis()));
+    }
+
+    private long processJsonBody(HttpURLConnection httpConn, ApiRequest request, TransportOptions options) throws IOException {
+        httpConn.setRequestProperty("Content-Type", "application/json");
+
+        // Enviar el cuerpo JSON, comprimido si así se ha indicado
+        byte[] input = (options.getEncodedPayload() != null) ? options.getEncodedPayload() : request.getPayload().getBytes(StandardCharsets.UTF_8);
+        httpConn.setRequestProperty("Content-Length", String.valueOf(input.length));
+        try (OutputStream os = httpConn.getOutputStream()) {
+            os.write(input, 0, input.length);
+        } catch (IOException e) {
+            log.error("Error enviando el cuerpo de la solicitud: " + request.getUri());
+            throw e;
+        }
+        
+        return input.length;
+    }
+
+    private ProgressTracker getProgressTracker(ApiRequest request, long contentLength) {
+        if (request.getProgressListener() == null) {
+            return null;
+        }
+        
+        return new ProgressTracker(request.getProgressListener(), contentLength);
+    }
+
+    private long processBinaryBody(HttpURLConnection httpConn, ApiRequest request) throws IOException {
+        httpConn.setRequestProperty("Connection", "Keep-Alive");
+        log.debug("Connection: Keep-Alive");
+        httpConn.setRequestProperty("Cache-Control", "no-cache");
+        log.debug("Cache-Control: no-cache");
+        
+        // Con la longitud fija HttpURLConnection envía el fichero sin almacenarlo en memoria
+        long contentLength = request.getBinaryFile().length();
+        httpConn.setFixedLengthStreamingMode(contentLength);
+        log.debug("Content-Length: " + String.valueOf(contentLength));
+
+        try (OutputStream outputStream = httpConn.getOutputStream()) {
+            FileTransfer.transfer(request.getBinaryFile().toPath(), outputStream, 
+                    this.getProgressTracker(request, contentLength));
+            outputStream.flush(); // Asegurarse de que se envíen todos los datos
+        } catch (IOException e) {
+            log.error("Error cargando el fichero de la solicitud: " + request.getUri());
+            throw e;
+        }
+        
+        return contentLength;
+    }
+
+    // Devuelve el número de bytes enviados
+    public long processMultipartFormBody(HttpURLConnection httpConn, ApiRequest request) throws IOException {
+        MultipartFormData multipart = new MultipartFormData(request);
+        
+        httpConn.setRequestProperty("Content-Type", multipart.getContentType());
+        log.debug("Content-Type: " + multipart.getContentType());
+        
+        // El tamaño se conoce de antemano, así HttpURLConnection no almacena el cuerpo en memoria
+        long contentLength = multipart.getContentLength();
+        httpConn.setFixedLengthStreamingMode(contentLength);
+        log.debug("Content-Length: " + Long.toString(contentLength));
+
+        try (OutputStream requestStream = httpConn.getOutputStream()) {
+            multipart.writeTo(requestStream, this.getProgressTracker(request, contentLength));
+        }
+        
+        return contentLength;
+    }
+}
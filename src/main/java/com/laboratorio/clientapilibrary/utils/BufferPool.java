@@ -0,0 +1,139 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool de buffers de E/S compartido por las lecturas y escrituras de la
+ * librería. Los buffers se agrupan por clases de tamaño potencia de dos entre
+ * 4 KB y 256 KB. Se usan arrays del heap porque todas las rutas de E/S
+ * trabajan con streams de byte[].
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public final class BufferPool {
+    private static final int MIN_SHIFT = 12;
+    private static final int MAX_SHIFT = 18;
+    public static final int MIN_SIZE = 1 << MIN_SHIFT;
+    public static final int MAX_SIZE = 1 << MAX_SHIFT;
+    // Como mucho se retienen 512 KB por clase (y al menos 4 buffers), unos 4 MB en total
+    private static final int BYTES_PER_CLASS = 512 * 1024;
+    // Longitud anunciada máxima para la que se reserva directamente el array del resultado
+    private static final long MAX_PRESIZE = 16 * 1024 * 1024;
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final ObjectPool<byte[]>[] pools = new ObjectPool[MAX_SHIFT - MIN_SHIFT + 1];
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder oversized = new LongAdder();
+    private static final LongAdder returns = new LongAdder();
+    private static final LongAdder discards = new LongAdder();
+    
+    static {
+        for (int i = 0; i < pools.length; i++) {
+            pools[i] = new ObjectPool<>(Math.max(4, BYTES_PER_CLASS >> (MIN_SHIFT + i)));
+        }
+    }
+    
+    private BufferPool() {
+    }
+    
+    // Clase de tamaño que contiene size bytes o -1 si es mayor que el máximo
+    private static int getSizeClass(int size) {
+        if (size > MAX_SIZE) {
+            return -1;
+        }
+        int shift = 32 - Integer.numberOfLeadingZeros(Math.max(size, MIN_SIZE) - 1);
+        return shift - MIN_SHIFT;
+    }
+    
+    // Devuelve un buffer de al menos minSize bytes. Debe devolverse con release al terminar
+    public static byte[] acquire(int minSize) {
+        int sizeClass = getSizeClass(minSize);
+        if (sizeClass < 0) {
+            oversized.increment();
+            return new byte[minSize];
+        }
+        
+        byte[] buffer = pools[sizeClass].poll();
+        if (buffer != null) {
+            hits.increment();
+            return buffer;
+        }
+        misses.increment();
+        return new byte[1 << (MIN_SHIFT + sizeClass)];
+    }
+    
+    // Solo se guardan los buffers con el tamaño exacto de una clase; el resto se descarta
+    public static void release(byte[] buffer) {
+        if (buffer == null) {
+            return;
+        }
+        int length = buffer.length;
+        if ((length < MIN_SIZE) || (length > MAX_SIZE) || (Integer.bitCount(length) != 1)) {
+            return;
+        }
+        
+        if (pools[getSizeClass(length)].offer(buffer)) {
+            returns.increment();
+        } else {
+            discards.increment();
+        }
+    }
+    
+    // Lee el stream completo. Si se conoce la longitud se reserva el array exacto y si no se
+    // acumula en buffers del pool, de modo que la única reserva es la del resultado
+    public static byte[] readAllBytes(InputStream inputStream, long expectedLength) throws IOException {
+        byte[] prefix = null;
+        if ((expectedLength >= 0) && (expectedLength <= MAX_PRESIZE)) {
+            byte[] result = new byte[(int) expectedLength];
+            int n = inputStream.readNBytes(result, 0, result.length);
+            if (n < result.length) {
+                return Arrays.copyOf(result, n);
+            }
+            int next = inputStream.read();
+            if (next == -1) {
+                return result;
+            }
+            // El servidor envió más de lo anunciado: se continúa con el caso general
+            prefix = Arrays.copyOf(result, n + 1);
+            prefix[n] = (byte) next;
+        }
+        
+        byte[] buffer = acquire((prefix == null) ? MIN_SIZE * 4 : prefix.length * 2);
+        int count = 0;
+        try {
+            if (prefix != null) {
+                System.arraycopy(prefix, 0, buffer, 0, prefix.length);
+                count = prefix.length;
+            }
+            
+            int n;
+            while ((n = inputStream.read(buffer, count, buffer.length - count)) != -1) {
+                count += n;
+                if (count == buffer.length) {
+                    if (buffer.length >= Integer.MAX_VALUE - 8) {
+                        throw new OutOfMemoryError("Cuerpo demasiado grande");
+                    }
+                    byte[] bigger = acquire((int) Math.min(Integer.MAX_VALUE - 8L, buffer.length * 2L));
+                    System.arraycopy(buffer, 0, bigger, 0, count);
+                    release(buffer);
+                    buffer = bigger;
+                }
+            }
+            
+            return Arrays.copyOf(buffer, count);
+        } finally {
+            release(buffer);
+        }
+    }
+    
+    public static BufferPoolStats getStats() {
+        return new BufferPoolStats(hits.sum(), misses.sum(), oversized.sum(), returns.sum(), discards.sum());
+    }
+}
@@ -0,0 +1,36 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Métricas de uso del pool de buffers.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+
+@Getter @AllArgsConstructor
+public class BufferPoolStats {
+    // Buffers servidos desde el pool sin reservar memoria
+    private final long hits;
+    private final long misses;
+    // Peticiones mayores que el tamaño máximo del pool, que siempre reservan memoria
+    private final long oversized;
+    private final long returns;
+    // Buffers devueltos con el pool lleno, que se dejan al recolector
+    private final long discards;
+    
+    public double getHitRatio() {
+        long total = this.hits + this.misses + this.oversized;
+        return (total == 0) ? 0.0 : (double) this.hits / total;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("hits=%d, fallos=%d, sobredimensionados=%d, devueltos=%d, descartados=%d, ratio=%.3f",
+                this.hits, this.misses, this.oversized, this.returns, this.discards, this.getHitRatio());
+    }
+}
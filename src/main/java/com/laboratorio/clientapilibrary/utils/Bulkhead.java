@@ -0,0 +1,45 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limita las peticiones simultáneas contra cada host para que un servidor lento
+ * no acapare los hilos del resto. Si no hay hueco la petición se rechaza en el acto.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class Bulkhead {
+    private final int maxConcurrentPerHost;
+    private final Map<String, Integer> hostLimits = new ConcurrentHashMap<>();
+    private final Map<String, Semaphore> hosts = new ConcurrentHashMap<>();
+
+    public Bulkhead(int maxConcurrentPerHost) {
+        this.maxConcurrentPerHost = maxConcurrentPerHost;
+    }
+    
+    // Fija un límite distinto del general para un host. Se aplica si todavía no se ha usado
+    public void setHostLimit(String host, int maxConcurrent) {
+        this.hostLimits.put(host.toLowerCase(), maxConcurrent);
+    }
+    
+    private Semaphore getSemaphore(String host) {
+        return this.hosts.computeIfAbsent(host, h -> new Semaphore(this.hostLimits.getOrDefault(h, this.maxConcurrentPerHost)));
+    }
+    
+    public boolean tryAcquire(String host) {
+        return this.getSemaphore(host).tryAcquire();
+    }
+    
+    public void release(String host) {
+        this.getSemaphore(host).release();
+    }
+    
+    public int getAvailable(String host) {
+        return this.getSemaphore(host).availablePermits();
+    }
+}
@@ -0,0 +1,171 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Cortocircuito por host. Cuando la tasa de fallos de las últimas peticiones supera
+ * el umbral, el circuito se abre y las peticiones se rechazan sin enviarlas; pasado
+ * un tiempo se deja pasar un número reducido de peticiones de prueba (semiabierto)
+ * y, según su resultado, el circuito se cierra o vuelve a abrirse.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class CircuitBreaker {
+    private static final Logger log = LogManager.getLogger(CircuitBreaker.class);
+    
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+    
+    // Número de resultados recientes con los que se calcula la tasa de fallos
+    private final int windowSize;
+    // Mínimo de resultados en la ventana antes de poder abrir el circuito
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    // Peticiones de prueba en estado semiabierto
+    private final int halfOpenCalls;
+    private final Map<String, HostCircuit> circuits = new ConcurrentHashMap<>();
+
+    public CircuitBreaker() {
+        this(50, 20, 0.5, Duration.ofSeconds(30), 3);
+    }
+    
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration, int halfOpenCalls) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+    }
+    
+    // Estado de un host. Cada host se sincroniza por separado
+    private class HostCircuit {
+        private final String host;
+        private final boolean[] window = new boolean[CircuitBreaker.this.windowSize];
+        private int position = 0;
+        private int calls = 0;
+        private int failures = 0;
+        private State state = State.CLOSED;
+        private long openedAt;
+        private int trialsInFlight = 0;
+        private int trialSuccesses = 0;
+        
+        HostCircuit(String host) {
+            this.host = host;
+        }
+        
+        synchronized boolean tryAcquire() {
+            if ((this.state == State.OPEN) && (System.nanoTime() - this.openedAt >= CircuitBreaker.this.openNanos)) {
+                this.state = State.HALF_OPEN;
+                this.trialsInFlight = 0;
+                this.trialSuccesses = 0;
+                log.info("Circuito semiabierto para el host: " + this.host);
+            }
+            
+            switch (this.state) {
+                case CLOSED:
+                    return true;
+                case HALF_OPEN:
+                    if (this.trialsInFlight + this.trialSuccesses < CircuitBreaker.this.halfOpenCalls) {
+                        this.trialsInFlight++;
+                        return true;
+                    }
+                    return false;
+                default:
+                    return false;
+            }
+        }
+        
+        synchronized void onResult(boolean failure) {
+            if (this.state == State.HALF_OPEN) {
+                this.trialsInFlight = Math.max(0, this.trialsInFlight - 1);
+                if (failure) {
+                    this.open();
+                } else if (++this.trialSuccesses >= CircuitBreaker.this.halfOpenCalls) {
+                    this.close();
+                }
+                return;
+            }
+            if (this.state == State.OPEN) {
+                return;
+            }
+            
+            // Se sustituye el resultado más antiguo de la ventana
+            if (this.calls == this.window.length) {
+                if (this.window[this.position]) {
+                    this.failures--;
+                }
+            } else {
+                this.calls++;
+            }
+            this.window[this.position] = failure;
+            if (failure) {
+                this.failures++;
+            }
+            this.position = (this.position + 1) % this.window.length;
+            
+            if ((this.calls >= CircuitBreaker.this.minimumCalls) 
+                    && ((double) this.failures / this.calls >= CircuitBreaker.this.failureRateThreshold)) {
+                this.open();
+            }
+        }
+        
+        synchronized void onIgnored() {
+            if (this.state == State.HALF_OPEN) {
+                this.trialsInFlight = Math.max(0, this.trialsInFlight - 1);
+            }
+        }
+        
+        private void open() {
+            log.warn(String.format("Circuito abierto para el host %s: %d fallos en %d peticiones", this.host, this.failures, this.calls));
+            this.state = State.OPEN;
+            this.openedAt = System.nanoTime();
+        }
+        
+        private void close() {
+            log.info("Circuito cerrado para el host: " + this.host);
+            this.state = State.CLOSED;
+            this.calls = 0;
+            this.failures = 0;
+            this.position = 0;
+        }
+        
+        synchronized State getState() {
+            return this.state;
+        }
+    }
+    
+    private HostCircuit getCircuit(String host) {
+        return this.circuits.computeIfAbsent(host, HostCircuit::new);
+    }
+    
+    // Indica si se puede enviar una petición al host. Si devuelve true hay que registrar su resultado
+    public boolean tryAcquire(String host) {
+        return this.getCircuit(host).tryAcquire();
+    }
+    
+    public void onSuccess(String host) {
+        this.getCircuit(host).onResult(false);
+    }
+    
+    public void onFailure(String host) {
+        this.getCircuit(host).onResult(true);
+    }
+    
+    // La petición terminó sin un resultado atribuible al host, por ejemplo porque se canceló
+    public void onIgnored(String host) {
+        this.getCircuit(host).onIgnored();
+    }
+    
+    public State getState(String host) {
+        return this.getCircuit(host).getState();
+    }
+}
@@ -0,0 +1,19 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Descompresor de un Content-Encoding. Se registra en ContentDecoder para
+ * añadir codificaciones como zstd sin cambiar la librería.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+@FunctionalInterface
+public interface ContentCodec {
+    // Envuelve el stream codificado con uno que devuelve los datos descomprimidos
+    InputStream decode(InputStream inputStream) throws IOException;
+}
@@ -0,0 +1,100 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import com.aayushatharva.brotli4j.decoder.BrotliInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Descompresión al vuelo del cuerpo de las respuestas HTTP. Incluye gzip,
+ * deflate y br, y admite registrar otros descompresores como zstd.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class ContentDecoder {
+    private static final Logger log = LogManager.getLogger(ContentDecoder.class);
+    private static final Map<String, ContentCodec> codecs = new ConcurrentHashMap<>();
+    private static volatile String acceptEncoding;
+    
+    static {
+        codecs.put("gzip", InflatingInputStream::gzip);
+        codecs.put("x-gzip", InflatingInputStream::gzip);
+        codecs.put("deflate", InflatingInputStream::deflate);
+        codecs.put("br", BrotliInputStream::new);
+        acceptEncoding = "gzip, deflate, br";
+    }
+    
+    private ContentDecoder() {
+    }
+    
+    // Registra un descompresor, por ejemplo register("zstd", ZstdInputStream::new), y lo anuncia en Accept-Encoding
+    public static synchronized void register(String encoding, ContentCodec codec) {
+        String name = encoding.trim().toLowerCase(Locale.ROOT);
+        if (codecs.put(name, codec) == null) {
+            acceptEncoding = acceptEncoding + ", " + name;
+        }
+    }
+    
+    public static boolean isSupported(String encoding) {
+        return codecs.containsKey(encoding.trim().toLowerCase(Locale.ROOT));
+    }
+    
+    // Valor de Accept-Encoding con todas las codificaciones que se saben descomprimir
+    public static String getAcceptEncoding() {
+        return acceptEncoding;
+    }
+    
+    // Envuelve el stream con los descompresores del Content-Encoding. Si se aplicaron varias
+    // codificaciones se deshacen en orden inverso
+    public static InputStream decode(String contentEncoding, InputStream inputStream) throws IOException {
+        if ((contentEncoding == null) || contentEncoding.isBlank()) {
+            return inputStream;
+        }
+        
+        String[] encodings = contentEncoding.split(",");
+        InputStream decoded = inputStream;
+        for (int i = encodings.length - 1; i >= 0; i--) {
+            String encoding = encodings[i].trim().toLowerCase(Locale.ROOT);
+            if (encoding.isEmpty() || encoding.equals("identity")) {
+                continue;
+            }
+            
+            ContentCodec codec = codecs.get(encoding);
+            if (codec == null) {
+                log.warn("Content-Encoding no soportado, se devuelve el cuerpo sin descomprimir: " + contentEncoding);
+                return decoded;
+            }
+            decoded = codec.decode(decoded);
+        }
+        
+        return decoded;
+    }
+    
+    // Obtiene el charset de la cabecera Content-Type o UTF-8 si no se indica o no es válido
+    public static Charset getCharset(String contentType) {
+        if (contentType != null) {
+            for (String part : contentType.split(";")) {
+                String param = part.trim();
+                if (param.regionMatches(true, 0, "charset=", 0, 8)) {
+                    String name = param.substring(8).trim().replace("\"", "");
+                    try {
+                        return Charset.forName(name);
+                    } catch (IllegalArgumentException e) {
+                        break;
+                    }
+                }
+            }
+        }
+        
+        return StandardCharsets.UTF_8;
+    }
+}
@@ -0,0 +1,102 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.laboratorio.clientapilibrary.exceptions.UtilsApiException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresión del cuerpo de las peticiones con gzip, deflate o br. Los Deflater
+ * y los buffers de salida se reutilizan entre peticiones.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class ContentEncoder {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_POOLED = 16;
+    // Calidad de brotli adecuada para comprimir al vuelo. Con la máxima (11) se tarda más de lo que se ahorra
+    private static final int BROTLI_QUALITY = 5;
+    
+    private static final ObjectPool<Deflater> ZLIB_DEFLATERS = new ObjectPool<>(MAX_POOLED);
+    private static final ObjectPool<Deflater> RAW_DEFLATERS = new ObjectPool<>(MAX_POOLED);
+    
+    private ContentEncoder() {
+    }
+    
+    public static boolean isSupported(String encoding) {
+        String name = encoding.trim().toLowerCase(Locale.ROOT);
+        return name.equals("gzip") || name.equals("deflate") || name.equals("br");
+    }
+    
+    // Devuelve los datos comprimidos con la codificación indicada
+    public static byte[] encode(String encoding, byte[] data) {
+        String name = encoding.trim().toLowerCase(Locale.ROOT);
+        switch (name) {
+            case "gzip":
+                return gzip(data);
+            case "deflate":
+                ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 4 + 64);
+                deflate(data, false, output);
+                return output.toByteArray();
+            case "br":
+                try {
+                    return Encoder.compress(data, new Encoder.Parameters().setQuality(BROTLI_QUALITY).setMode(Encoder.Mode.TEXT));
+                } catch (IOException e) {
+                    throw new UtilsApiException(ContentEncoder.class.getName(), "Error comprimiendo el cuerpo con brotli", e);
+                }
+            default:
+                throw new UtilsApiException(ContentEncoder.class.getName(), "Codificación no soportada para el cuerpo: " + encoding);
+        }
+    }
+    
+    // Cabecera gzip mínima, datos deflate sin cabecera zlib y trailer con CRC32 y longitud
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 4 + 64);
+        output.write(new byte[] {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff}, 0, 10);
+        deflate(data, true, output);
+        
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        writeInt(output, (int) crc.getValue());
+        writeInt(output, data.length);
+        
+        return output.toByteArray();
+    }
+    
+    private static void deflate(byte[] data, boolean nowrap, ByteArrayOutputStream output) {
+        ObjectPool<Deflater> pool = nowrap ? RAW_DEFLATERS : ZLIB_DEFLATERS;
+        Deflater deflater = pool.poll();
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap);
+        }
+        byte[] buffer = BufferPool.acquire(BUFFER_SIZE);
+        
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                output.write(buffer, 0, n);
+            }
+        } finally {
+            deflater.reset();
+            if (!pool.offer(deflater)) {
+                deflater.end();
+            }
+            BufferPool.release(buffer);
+        }
+    }
+    
+    private static void writeInt(ByteArrayOutputStream output, int value) {
+        output.write(value & 0xff);
+        output.write((value >> 8) & 0xff);
+        output.write((value >> 16) & 0xff);
+        output.write((value >> 24) & 0xff);
+    }
+}
@@ -0,0 +1,231 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import com.laboratorio.clientapilibrary.model.SerializableCookie;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Formato binario versionado de los ficheros de cookies. El fichero es un registro
+ * de solo añadir: cada cambio se agrega al final y la compactación reescribe el
+ * fichero con las cookies vigentes. Se siguen leyendo los ficheros antiguos
+ * escritos con ObjectOutputStream.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class CookieFile {
+    private static final Logger log = LogManager.getLogger(CookieFile.class);
+    private static final int MAGIC = 0x434A4152;   // "CJAR"
+    private static final byte VERSION = 1;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    
+    private CookieFile() {
+    }
+    
+    // Cambio de una cookie: alta/actualización o borrado
+    @Getter @AllArgsConstructor
+    public static class Entry {
+        private final boolean removed;
+        private final SerializableCookie cookie;
+    }
+    
+    // Resultado de la carga: cookies vigentes, número de registros leídos y si conviene
+    // reescribir el fichero (formato antiguo o último registro incompleto)
+    @Getter @AllArgsConstructor
+    public static class LoadResult {
+        private final Map<String, SerializableCookie> cookies;
+        private final int records;
+        private final boolean compactionNeeded;
+    }
+    
+    public static String getKey(SerializableCookie cookie) {
+        return cookie.getDomain() + "|" + cookie.getPath() + "|" + cookie.getName();
+    }
+    
+    public static LoadResult load(Path path) throws IOException {
+        try (InputStream is = new BufferedInputStream(new FileInputStream(path.toFile()), 64 * 1024)) {
+            is.mark(4);
+            DataInputStream in = new DataInputStream(is);
+            int magic;
+            try {
+                magic = in.readInt();
+            } catch (EOFException e) {
+                return new LoadResult(new HashMap<>(), 0, true);
+            }
+            
+            if (magic != MAGIC) {
+                is.reset();
+                return loadLegacy(is);
+            }
+            
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Versión de fichero de cookies no soportada: " + version);
+            }
+            
+            Map<String, SerializableCookie> cookies = new HashMap<>();
+            int records = 0;
+            boolean truncated = false;
+            while (true) {
+                int type = in.read();
+                if (type == -1) {
+                    break;
+                }
+                
+                Entry entry;
+                try {
+                    entry = readEntry(in, type);
+                } catch (IOException e) {
+                    // Último registro incompleto o dañado por una escritura interrumpida
+                    log.warn("Se descarta el final dañado del fichero de cookies " + path + ": " + e);
+                    truncated = true;
+                    break;
+                }
+                records++;
+                String key = getKey(entry.getCookie());
+                if (entry.isRemoved()) {
+                    cookies.remove(key);
+                } else {
+                    cookies.put(key, entry.getCookie());
+                }
+            }
+            
+            return new LoadResult(cookies, records, truncated);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static LoadResult loadLegacy(InputStream is) throws IOException {
+        try {
+            ObjectInputStream ois = new ObjectInputStream(is);
+            Map<String, SerializableCookie> serializableCookies = (Map<String, SerializableCookie>) ois.readObject();
+            Map<String, SerializableCookie> cookies = new HashMap<>();
+            for (SerializableCookie cookie : serializableCookies.values()) {
+                cookies.put(getKey(cookie), cookie);
+            }
+            
+            log.debug("Se cargó un fichero de cookies con el formato antiguo");
+            return new LoadResult(cookies, cookies.size(), true);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Formato de fichero de cookies desconocido", e);
+        }
+    }
+    
+    // Agrega los cambios al final del fichero, creándolo si no existe
+    public static void append(Path path, List<Entry> entries) throws IOException {
+        boolean exists = Files.exists(path) && (Files.size(path) > 0);
+        
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path.toFile(), true)))) {
+            if (!exists) {
+                writeHeader(out);
+            }
+            for (Entry entry : entries) {
+                writeEntry(out, entry);
+            }
+        }
+    }
+    
+    // Reescribe el fichero solo con las cookies indicadas
+    public static void rewrite(Path path, Collection<SerializableCookie> cookies) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp.toFile())))) {
+            writeHeader(out);
+            for (SerializableCookie cookie : cookies) {
+                writeEntry(out, new Entry(false, cookie));
+            }
+        }
+        
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    private static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+    
+    private static void writeEntry(DataOutputStream out, Entry entry) throws IOException {
+        SerializableCookie cookie = entry.getCookie();
+        
+        out.writeByte(entry.isRemoved() ? REMOVE : PUT);
+        writeString(out, cookie.getDomain());
+        writeString(out, cookie.getPath());
+        writeString(out, cookie.getName());
+        if (entry.isRemoved()) {
+            return;
+        }
+        writeString(out, cookie.getValue());
+        out.writeInt(cookie.getVersion());
+        writeString(out, cookie.getComment());
+        out.writeLong((cookie.getExpiry() == null) ? Long.MIN_VALUE : cookie.getExpiry().toInstant().toEpochMilli());
+    }
+    
+    private static Entry readEntry(DataInputStream in, int type) throws IOException {
+        if ((type != PUT) && (type != REMOVE)) {
+            throw new IOException("Registro de cookie no válido: " + type);
+        }
+        
+        SerializableCookie cookie = new SerializableCookie();
+        cookie.setDomain(readString(in));
+        cookie.setPath(readString(in));
+        cookie.setName(readString(in));
+        if (type == REMOVE) {
+            return new Entry(true, cookie);
+        }
+        
+        cookie.setValue(readString(in));
+        cookie.setVersion(in.readInt());
+        cookie.setComment(readString(in));
+        long expiry = in.readLong();
+        if (expiry != Long.MIN_VALUE) {
+            cookie.setExpiry(ZonedDateTime.ofInstant(Instant.ofEpochMilli(expiry), ZoneOffset.UTC));
+        }
+        
+        return new Entry(false, cookie);
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+    
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
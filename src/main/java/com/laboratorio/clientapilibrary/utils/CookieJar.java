@@ -0,0 +1,301 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import com.laboratorio.clientapilibrary.model.SerializableCookie;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Almacén de cookies en memoria, seguro para varios hilos, indexado por dominio,
+ * ruta y nombre. Si tiene un fichero asociado lo carga una vez y agrega los cambios
+ * al final del fichero en segundo plano, compactándolo cuando acumula registros
+ * obsoletos o cookies expiradas.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class CookieJar {
+    private static final Logger log = LogManager.getLogger(CookieJar.class);
+    // Tiempo durante el que se agrupan los cambios antes de escribir el fichero
+    private static final long SAVE_DELAY_MILLIS = 500L;
+    // Registros obsoletos tolerados en el fichero antes de compactarlo
+    private static final int COMPACTION_SLACK = 64;
+    // Un único almacén por fichero para que varios ApiClient no compitan por él
+    private static final Map<String, CookieJar> jars = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService saver = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "CookieJar-saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final String filePath;
+    private final Map<String, SerializableCookie> cookies;
+    private final AtomicBoolean savePending;
+    private final Queue<CookieFile.Entry> pendingEntries;
+    // Registros escritos en el fichero desde la última compactación (solo lo usa el hilo de guardado)
+    private int fileRecords;
+    private volatile boolean compactionRequested;
+
+    public CookieJar() {
+        this(null);
+    }
+    
+    private CookieJar(String filePath) {
+        this.filePath = filePath;
+        this.cookies = new ConcurrentHashMap<>();
+        this.savePending = new AtomicBoolean(false);
+        this.pendingEntries = new ConcurrentLinkedQueue<>();
+        this.fileRecords = 0;
+        this.compactionRequested = false;
+        
+        if (filePath != null && new File(filePath).exists()) {
+            this.load();
+        }
+    }
+    
+    private void load() {
+        try {
+            CookieFile.LoadResult result = CookieFile.load(Path.of(this.filePath));
+            ZonedDateTime now = ZonedDateTime.now();
+            for (Map.Entry<String, SerializableCookie> entry : result.getCookies().entrySet()) {
+                if (!isExpired(entry.getValue(), now)) {
+                    this.cookies.put(entry.getKey(), entry.getValue());
+                }
+            }
+            this.fileRecords = result.getRecords();
+            
+            // Las cookies expiradas y el formato antiguo se eliminan en segundo plano
+            if (result.isCompactionNeeded() || (this.cookies.size() < result.getCookies().size())) {
+                this.compactionRequested = true;
+                this.scheduleSave();
+            }
+            
+            log.debug("Se cargaron " + this.cookies.size() + " cookies del fichero: " + this.filePath);
+        } catch (IOException e) {
+            log.error("Problemas al recuperar las cookies del fichero " + this.filePath + ". Se cargará un conjunto vacío: " + e.getMessage());
+        }
+    }
+    
+    // Devuelve el almacén asociado al fichero, cargándolo la primera vez
+    public static CookieJar forFile(String filePath) {
+        String key = new File(filePath).getAbsolutePath();
+        return jars.computeIfAbsent(key, k -> new CookieJar(filePath));
+    }
+    
+    private static String getKey(SerializableCookie cookie) {
+        return CookieFile.getKey(cookie);
+    }
+    
+    private static String getHost(String uri) {
+        try {
+            String host = URI.create(uri).getHost();
+            return (host == null) ? null : host.toLowerCase();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static String getPath(String uri) {
+        try {
+            String path = URI.create(uri).getPath();
+            return ((path == null) || path.isEmpty()) ? "/" : path;
+        } catch (IllegalArgumentException e) {
+            return "/";
+        }
+    }
+    
+    private static boolean isExpired(SerializableCookie cookie, ZonedDateTime now) {
+        return (cookie.getExpiry() != null) && !cookie.getExpiry().isAfter(now);
+    }
+    
+    private static boolean domainMatches(String host, String domain) {
+        return host.equals(domain) || host.endsWith("." + domain);
+    }
+    
+    private static boolean pathMatches(String requestPath, String cookiePath) {
+        if (requestPath.equals(cookiePath)) {
+            return true;
+        }
+        
+        return requestPath.startsWith(cookiePath) 
+                && (cookiePath.endsWith("/") || requestPath.charAt(cookiePath.length()) == '/');
+    }
+    
+    // Incorpora las cabeceras Set-Cookie de una respuesta a la uri indicada
+    public void addCookies(String uri, List<String> cookiesHeader) {
+        if ((cookiesHeader == null) || cookiesHeader.isEmpty()) {
+            return;
+        }
+        
+        String host = (uri == null) ? null : getHost(uri);
+        ZonedDateTime now = ZonedDateTime.now();
+        boolean changed = false;
+        
+        for (SerializableCookie cookie : CookieManager.parseCookies(cookiesHeader)) {
+            // Sin dominio explícito la cookie pertenece al host que la envió
+            if ((cookie.getDomain() == null) || cookie.getDomain().isEmpty()) {
+                cookie.setDomain(host);
+            } else {
+                String domain = cookie.getDomain().toLowerCase();
+                cookie.setDomain(domain.startsWith(".") ? domain.substring(1) : domain);
+            }
+            if ((cookie.getPath() == null) || cookie.getPath().isEmpty()) {
+                cookie.setPath("/");
+            }
+            
+            // Una cookie ya expirada elimina la existente
+            if (isExpired(cookie, now)) {
+                if (this.cookies.remove(getKey(cookie)) != null) {
+                    this.pendingEntries.add(new CookieFile.Entry(true, cookie));
+                    changed = true;
+                }
+            } else {
+                this.cookies.put(getKey(cookie), cookie);
+                this.pendingEntries.add(new CookieFile.Entry(false, cookie));
+                changed = true;
+            }
+        }
+        
+        if (changed) {
+            this.scheduleSave();
+        }
+    }
+    
+    // Cookies vigentes que corresponden a la uri
+    public List<SerializableCookie> getCookies(String uri) {
+        String host = getHost(uri);
+        String path = getPath(uri);
+        ZonedDateTime now = ZonedDateTime.now();
+        List<SerializableCookie> result = new ArrayList<>();
+        
+        for (SerializableCookie cookie : this.cookies.values()) {
+            if (isExpired(cookie, now)) {
+                continue;
+            }
+            if ((host != null) && (cookie.getDomain() != null) && !domainMatches(host, cookie.getDomain())) {
+                continue;
+            }
+            if ((cookie.getPath() != null) && !pathMatches(path, cookie.getPath())) {
+                continue;
+            }
+            result.add(cookie);
+        }
+        
+        return result;
+    }
+    
+    public List<SerializableCookie> getAllCookies() {
+        ZonedDateTime now = ZonedDateTime.now();
+        return this.cookies.values().stream()
+                .filter(c -> !isExpired(c, now))
+                .toList();
+    }
+    
+    // Valor de la cabecera Cookie para la uri, o null si no hay cookies
+    public String getCookieHeader(String uri, List<String> requestCookies) {
+        StringBuilder header = new StringBuilder();
+        
+        for (String cookie : requestCookies) {
+            if (header.length() > 0) {
+                header.append("; ");
+            }
+            header.append(cookie);
+        }
+        
+        // Las cookies de la petición tienen preferencia sobre las del almacén
+        for (SerializableCookie cookie : this.getCookies(uri)) {
+            boolean overridden = requestCookies.stream().anyMatch(c -> c.startsWith(cookie.getName() + "="));
+            if (!overridden) {
+                if (header.length() > 0) {
+                    header.append("; ");
+                }
+                header.append(cookie.getName()).append("=").append(cookie.getValue());
+            }
+        }
+        
+        return (header.length() == 0) ? null : header.toString();
+    }
+    
+    public void clear() {
+        this.cookies.clear();
+        this.compactionRequested = true;
+        this.scheduleSave();
+    }
+    
+    // Agrupa los cambios: solo se programa una escritura mientras haya otra pendiente
+    private void scheduleSave() {
+        if (this.filePath == null) {
+            return;
+        }
+        
+        if (this.savePending.compareAndSet(false, true)) {
+            saver.schedule(this::save, SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    // Escribe el fichero de forma inmediata
+    public void flush() {
+        if (this.filePath != null) {
+            this.savePending.set(true);
+            this.save();
+        }
+    }
+    
+    private synchronized void save() {
+        if (!this.savePending.getAndSet(false)) {
+            return;
+        }
+        
+        List<CookieFile.Entry> entries = new ArrayList<>();
+        CookieFile.Entry entry;
+        while ((entry = this.pendingEntries.poll()) != null) {
+            entries.add(entry);
+        }
+        
+        // Se retiran de memoria las cookies que han expirado desde la última escritura
+        ZonedDateTime now = ZonedDateTime.now();
+        if (this.cookies.values().removeIf(c -> isExpired(c, now))) {
+            this.compactionRequested = true;
+        }
+        
+        Path target = Path.of(this.filePath);
+        try {
+            if (this.compactionRequested || (this.fileRecords + entries.size() > 2 * this.cookies.size() + COMPACTION_SLACK)) {
+                this.compactionRequested = false;
+                List<SerializableCookie> snapshot = new ArrayList<>(this.cookies.values());
+                CookieFile.rewrite(target, snapshot);
+                this.fileRecords = snapshot.size();
+                log.debug("Se compactó el fichero de cookies: " + this.filePath);
+            } else if (!entries.isEmpty()) {
+                Path parent = target.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                CookieFile.append(target, entries);
+                this.fileRecords += entries.size();
+                log.debug("Se agregaron " + entries.size() + " cambios al fichero de cookies: " + this.filePath);
+            }
+        } catch (IOException e) {
+            // Se fuerza una reescritura completa en el siguiente intento
+            this.compactionRequested = true;
+            log.error("Error almacenando las cookies en el fichero " + this.filePath + ": " + e.getMessage());
+        }
+    }
+}
@@ -5,18 +5,11 @@ import com.laboratorio.clientapilibrary.model.ApiMethodType;
 import com.laboratorio.clientapilibrary.model.ApiRequest;
 import com.laboratorio.clientapilibrary.model.ApiResponse;
 import com.laboratorio.clientapilibrary.model.SerializableCookie;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.file.Path;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -24,9 +17,9 @@ import org.apache.logging.log4j.Logger;
 /**
  *
  * @author Rafael
- * @version 2.0
+ * @version 2.1
  * @created 01/09/2024
- * @updated 05/10/2024
+ * @updated 17/10/2026
  */
 public class CookieManager {
     protected static final Logger log = LogManager.getLogger(CookieManager.class);
@@ -70,6 +63,13 @@ public class CookieManager {
                                 cookie.setExpiry(ZonedDateTime.now().plusDays(1L));
                             }
                         }
+                        case "max-age" -> {
+                            try {
+                                cookie.setExpiry(ZonedDateTime.now().plusSeconds(Long.parseLong(attributeValue)));
+                            } catch (NumberFormatException e) {
+                                log.warn("Error al analizar el max-age de la cookie: " + e.getMessage());
+                            }
+                        }
                         case "version" -> cookie.setVersion(Integer.parseInt(attributeValue));
                         case "comment" -> cookie.setComment(attributeValue);
                     }
@@ -82,32 +82,12 @@ public class CookieManager {
         return cookies;
     }
 
-    // Función para guardar las cookies en un archivo
+    // Función para guardar las cookies en un archivo. Se incorporan al almacén asociado
+    // al fichero, conservando las cookies guardadas anteriormente
     public static void saveCookies(String filePath, List<String> cookiesHeader) {
-        try {
-            List<SerializableCookie> cookies = parseCookies(cookiesHeader);
-            Map<String, SerializableCookie> serializableCookies = new HashMap<>();
-            for (SerializableCookie cookie : cookies) {
-                serializableCookies.put(cookie.getName(), cookie);
-            }
-
-            // Se borra el fichero si existe
-            File fileToDelete = new File(filePath);
-            if (fileToDelete.exists()) {
-                fileToDelete.delete();
-            }
-
-            FileOutputStream fos = new FileOutputStream(filePath);
-            ObjectOutputStream oos = new ObjectOutputStream(fos);
-            oos.writeObject(serializableCookies);
-            oos.close();
-            fos.close();
-
-            log.debug("Las cookies del website se guardaron exitosamente.");
-        } catch (IOException e) {
-            log.error("Error almacenando las cookies de Truth Social");
-            logException(e);
-        }
+        CookieJar cookieJar = CookieJar.forFile(filePath);
+        cookieJar.addCookies(null, cookiesHeader);
+        cookieJar.flush();
     }
 
     // Función para recuperar cookies guardadas y filtrar las que no estén expiradas
@@ -115,19 +95,9 @@ public class CookieManager {
         List<SerializableCookie> cookies = new ArrayList<>();
 
         try {
-            FileInputStream fis = new FileInputStream(filePath);
-            ObjectInputStream ois = new ObjectInputStream(fis);
-
-            Map<String, SerializableCookie> serializableCookies = (Map<String, SerializableCookie>) ois.readObject();
-            
-            ois.close();
-            fis.close();
-            
-            for (Map.Entry<String, SerializableCookie> entry : serializableCookies.entrySet()) {
-                cookies.add(entry.getValue());
-            }
+            cookies.addAll(CookieFile.load(Path.of(filePath)).getCookies().values());
             
-            log.debug("Las cookies de Truth Social de cargaron exitosamente.");
+            log.debug("Las cookies del website se cargaron exitosamente.");
         } catch (Exception e) {
             log.error("Problemas al recuperar las cookies del website. Se cargará un conjunto vacío.");
             logException(e);
@@ -144,7 +114,7 @@ public class CookieManager {
         List<String> cookiesList = new ArrayList<>();
 
         for (SerializableCookie cookie : cookies) {
-            cookiesList.add(cookie.toString());
+            cookiesList.add(cookie.getName() + "=" + cookie.getValue());
         }
 
         return cookiesList;
@@ -152,9 +122,11 @@ public class CookieManager {
     
     // Obtiene las cookies del website
     public static List<String> getWebsiteCookies(String cookiesFilePath, String uri, String userAgent) {
-        // Cargar las cookies almacenadas si existen
+        // Las cookies almacenadas se mantienen en memoria: el fichero solo se lee la primera vez
+        CookieJar cookieJar = null;
         if (cookiesFilePath != null) {
-            List<SerializableCookie> existingCookies = loadCookies(cookiesFilePath);
+            cookieJar = CookieJar.forFile(cookiesFilePath);
+            List<SerializableCookie> existingCookies = cookieJar.getCookies(uri);
             if (!existingCookies.isEmpty()) {
                 return extractCookiesInformation(existingCookies);
             }
@@ -166,6 +138,14 @@ public class CookieManager {
             ApiRequest request = new ApiRequest(uri, 200, ApiMethodType.GET);
             request.addApiHeader("User-Agent", userAgent);
             ApiResponse response = client.executeApiRequest(request);
+            
+            if ((cookieJar != null) && (response.getCookies() != null)) {
+                cookieJar.addCookies(uri, response.getCookies());
+            }
+
+            if (response.getCookies() == null) {
+                return new ArrayList<>();
+            }
 
             return extractCookiesInformation(parseCookies(response.getCookies()));
         } catch (Exception e) {
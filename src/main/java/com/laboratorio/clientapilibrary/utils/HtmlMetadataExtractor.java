@@ -0,0 +1,124 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+
+/**
+ * Extracción de la metadata de previsualización de una página (título, descripción
+ * e imagen) analizando el HTML a medida que se descarga, sin construir el documento
+ * completo. La lectura se detiene al cerrar la cabecera si ya tiene la descripción;
+ * si no, se sigue por el cuerpo hasta el primer h1, con un máximo de MAX_BYTES.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class HtmlMetadataExtractor {
+    // Bytes máximos que se leen de cada página
+    public static final int MAX_BYTES = 512 * 1024;
+    
+    private HtmlMetadataExtractor() {
+    }
+    
+    public static Map<String, String> extract(String url) throws IOException {
+        Connection.Response response = Jsoup.connect(url)
+                .maxBodySize(MAX_BYTES)
+                .execute();
+        
+        try (StreamParser parser = response.streamParser()) {
+            return extract(parser);
+        } catch (UncheckedIOException e) {
+            // Los errores de lectura durante el análisis llegan envueltos
+            throw e.getCause();
+        }
+    }
+    
+    public static Map<String, String> parse(Reader reader, String baseUri) {
+        try (StreamParser parser = new StreamParser(Parser.htmlParser()).parse(reader, baseUri)) {
+            return extract(parser);
+        }
+    }
+    
+    // Los elementos llegan al cerrarse, con sus hijos ya completos
+    private static Map<String, String> extract(StreamParser parser) {
+        String title = null;
+        String description = null;
+        String ogTitle = null;
+        String ogImage = null;
+        String h1 = null;
+        String h2 = null;
+        
+        Iterator<Element> iterator = parser.iterator();
+        while (iterator.hasNext()) {
+            Element element = iterator.next();
+            switch (element.normalName()) {
+                case "title" -> {
+                    if (title == null) {
+                        title = element.text();
+                    }
+                }
+                case "meta" -> {
+                    String content = element.attr("content");
+                    if ((description == null) && element.attr("name").equalsIgnoreCase("description")) {
+                        description = content;
+                    } else if ((ogTitle == null) && element.attr("property").equalsIgnoreCase("og:title")) {
+                        ogTitle = content;
+                    } else if ((ogImage == null) && element.attr("property").equalsIgnoreCase("og:image")) {
+                        ogImage = content;
+                    }
+                }
+                case "h1" -> {
+                    if (h1 == null) {
+                        h1 = element.text();
+                    }
+                }
+                case "h2" -> {
+                    if (h2 == null) {
+                        h2 = element.text();
+                    }
+                }
+                default -> {
+                }
+            }
+            // Se descartan los bloques de primer nivel ya cerrados, con todo su contenido
+            Element parent = element.parent();
+            if ((parent != null) && (parent.normalName().equals("body") || parent.normalName().equals("head"))) {
+                element.remove();
+            }
+            
+            // Con la descripción de la cabecera no hace falta leer el cuerpo
+            boolean headDone = element.normalName().equals("head") && ((description != null) || (ogTitle != null));
+            if (headDone || (h1 != null)) {
+                parser.stop();
+                break;
+            }
+        }
+        
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("title", (title == null) ? "" : title);
+        if (description != null) {
+            metadata.put("description", description);
+        } else if (ogTitle != null) {
+            metadata.put("description", ogTitle);
+        } else if (h1 != null) {
+            metadata.put("description", h1);
+        } else if (h2 != null) {
+            metadata.put("description", h2);
+        }
+        if (ogImage != null) {
+            metadata.put("previmg", ogImage);
+        }
+        
+        return metadata;
+    }
+}
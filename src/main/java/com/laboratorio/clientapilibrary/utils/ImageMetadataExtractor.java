@@ -0,0 +1,268 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import com.drew.imaging.ImageMetadataReader;
+import com.drew.imaging.ImageProcessingException;
+import com.drew.metadata.Directory;
+import com.drew.metadata.Metadata;
+import com.drew.metadata.Tag;
+import com.laboratorio.clientapilibrary.exceptions.UtilsApiException;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Extracción de las dimensiones, el tipo MIME y el tamaño de las imágenes. En
+ * PNG, JPEG, GIF, WebP y BMP solo se leen los bytes de la cabecera; el resto de
+ * formatos se analiza con metadata-extractor. Los resultados se guardan en una
+ * caché por ruta que se invalida si cambian la fecha de modificación o el tamaño.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class ImageMetadataExtractor {
+    private static final Logger log = LogManager.getLogger(ImageMetadataExtractor.class);
+    private static final int MAX_CACHED = 1024;
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("\\d+");
+    
+    // Caché LRU por ruta con la fecha de modificación y el tamaño con que se leyó el fichero
+    private static final Map<String, CachedMetadata> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedMetadata> eldest) {
+            return this.size() > MAX_CACHED;
+        }
+    };
+    
+    private record CachedMetadata(long lastModified, long size, int width, int height, String mimeType) {
+        ImageMetadata toImageMetadata() {
+            return new ImageMetadata(this.width, this.height, this.mimeType, (int) Math.min(Integer.MAX_VALUE, this.size));
+        }
+    }
+    
+    private ImageMetadataExtractor() {
+    }
+    
+    public static ImageMetadata extract(String filePath) {
+        try {
+            Path path = Path.of(filePath);
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            String key = path.toAbsolutePath().normalize().toString();
+            
+            CachedMetadata cached;
+            synchronized (cache) {
+                cached = cache.get(key);
+            }
+            if ((cached != null) && (cached.lastModified() == lastModified) && (cached.size() == attributes.size())) {
+                return cached.toImageMetadata();
+            }
+            
+            ImageMetadata metadata = read(path, attributes.size());
+            synchronized (cache) {
+                cache.put(key, new CachedMetadata(lastModified, attributes.size(), metadata.getWidth(), metadata.getHeight(), metadata.getMimeType()));
+            }
+            log.debug("Se extrajo la metadata de la imagen: " + filePath);
+            
+            return metadata;
+        } catch (UtilsApiException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UtilsApiException(ImageMetadataExtractor.class.getName(), "Error al extraer la metadata de la imagen " + filePath, e);
+        }
+    }
+    
+    // Extrae en paralelo, con un hilo virtual por fichero, la metadata de varias imágenes.
+    // Devuelve un mapa en el orden recibido con null en las imágenes que no se pudieron leer
+    public static Map<String, ImageMetadata> extractAll(Collection<String> filePaths) {
+        Map<String, ImageMetadata> result = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ImageMetadata>> futures = new ArrayList<>(filePaths.size());
+            for (String filePath : filePaths) {
+                futures.add(executor.submit(() -> extract(filePath)));
+            }
+            
+            int i = 0;
+            for (String filePath : filePaths) {
+                try {
+                    result.put(filePath, futures.get(i++).get());
+                } catch (ExecutionException e) {
+                    result.put(filePath, null);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new UtilsApiException(ImageMetadataExtractor.class.getName(), "Se interrumpió la extracción de la metadata de las imágenes");
+                }
+            }
+        }
+        
+        return result;
+    }
+    
+    public static void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+    
+    // Lee la metadata sin consultar la caché
+    public static ImageMetadata read(Path path, long size) throws IOException {
+        ImageMetadata metadata = readHeader(path);
+        if (metadata == null) {
+            metadata = readWithMetadataExtractor(path);
+        }
+        metadata.setSize((int) Math.min(Integer.MAX_VALUE, size));
+        
+        return metadata;
+    }
+    
+    // Devuelve null si el formato no se reconoce o la cabecera no es la esperada
+    private static ImageMetadata readHeader(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 512)) {
+            byte[] header = new byte[30];
+            int n = in.readNBytes(header, 0, header.length);
+            
+            // PNG: firma de 8 bytes seguida del bloque IHDR con el ancho y el alto
+            if ((n >= 24) && ((header[0] & 0xFF) == 0x89) && (header[1] == 'P') && (header[2] == 'N') && (header[3] == 'G')) {
+                return new ImageMetadata(readInt(header, 16), readInt(header, 20), "image/png", 0);
+            }
+            // GIF: ancho y alto en little endian tras la firma GIF87a o GIF89a
+            if ((n >= 10) && (header[0] == 'G') && (header[1] == 'I') && (header[2] == 'F')) {
+                return new ImageMetadata(readShortLE(header, 6), readShortLE(header, 8), "image/gif", 0);
+            }
+            // BMP: cabecera BITMAPINFOHEADER, el alto es negativo si las filas van de arriba abajo
+            if ((n >= 26) && (header[0] == 'B') && (header[1] == 'M')) {
+                return new ImageMetadata(readIntLE(header, 18), Math.abs(readIntLE(header, 22)), "image/bmp", 0);
+            }
+            if ((n >= 30) && (header[0] == 'R') && (header[1] == 'I') && (header[2] == 'F') && (header[3] == 'F')
+                    && (header[8] == 'W') && (header[9] == 'E') && (header[10] == 'B') && (header[11] == 'P')) {
+                return readWebpHeader(header);
+            }
+            if ((n >= 2) && ((header[0] & 0xFF) == 0xFF) && ((header[1] & 0xFF) == 0xD8)) {
+                return readJpegHeader(in, header, n);
+            }
+        }
+        
+        return null;
+    }
+    
+    private static ImageMetadata readWebpHeader(byte[] header) {
+        String chunk = new String(header, 12, 4, StandardCharsets.US_ASCII);
+        switch (chunk) {
+            case "VP8 ":
+                return new ImageMetadata(readShortLE(header, 26) & 0x3FFF, readShortLE(header, 28) & 0x3FFF, "image/webp", 0);
+            case "VP8L":
+                int bits = readIntLE(header, 21);
+                return new ImageMetadata((bits & 0x3FFF) + 1, ((bits >> 14) & 0x3FFF) + 1, "image/webp", 0);
+            case "VP8X":
+                int width = ((header[24] & 0xFF) | ((header[25] & 0xFF) << 8) | ((header[26] & 0xFF) << 16)) + 1;
+                int height = ((header[27] & 0xFF) | ((header[28] & 0xFF) << 8) | ((header[29] & 0xFF) << 16)) + 1;
+                return new ImageMetadata(width, height, "image/webp", 0);
+            default:
+                return null;
+        }
+    }
+    
+    // Se recorren los segmentos saltando su contenido hasta el marcador SOF con las dimensiones
+    private static ImageMetadata readJpegHeader(InputStream in, byte[] header, int n) throws IOException {
+        InputStream stream = new SequenceInputStream(new ByteArrayInputStream(header, 2, n - 2), in);
+        try {
+            while (true) {
+                int marker = stream.read();
+                while (marker == 0xFF) {
+                    marker = stream.read();
+                }
+                if (marker < 0) {
+                    return null;
+                }
+                // Marcadores sin contenido
+                if ((marker == 0x01) || ((marker >= 0xD0) && (marker <= 0xD7))) {
+                    continue;
+                }
+                if ((marker == 0xD9) || (marker == 0xDA)) {
+                    return null;
+                }
+                
+                int length = (readByte(stream) << 8) | readByte(stream);
+                if ((marker >= 0xC0) && (marker <= 0xCF) && (marker != 0xC4) && (marker != 0xC8) && (marker != 0xCC)) {
+                    readByte(stream);
+                    int height = (readByte(stream) << 8) | readByte(stream);
+                    int width = (readByte(stream) << 8) | readByte(stream);
+                    return new ImageMetadata(width, height, "image/jpeg", 0);
+                }
+                stream.skipNBytes(length - 2);
+            }
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+    
+    // Recorrido completo para los formatos sin lectura rápida de la cabecera
+    private static ImageMetadata readWithMetadataExtractor(Path path) throws IOException {
+        Metadata metadata;
+        try {
+            metadata = ImageMetadataReader.readMetadata(path.toFile());
+        } catch (ImageProcessingException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        ImageMetadata imageMetadata = new ImageMetadata();
+        
+        for (Directory directory : metadata.getDirectories()) {
+            for (Tag tag : directory.getTags()) {
+                switch (tag.getTagName()) {
+                    case "Image Height" -> imageMetadata.setHeight(extractNumber(tag.getDescription()));
+                    case "Image Width" -> imageMetadata.setWidth(extractNumber(tag.getDescription()));
+                    case "Detected MIME Type" -> imageMetadata.setMimeType(tag.getDescription());
+                    default -> {
+                    }
+                }
+            }
+        }
+        
+        return imageMetadata;
+    }
+    
+    private static int extractNumber(String text) {
+        Matcher matcher = NUMBER_PATTERN.matcher(text);
+        return matcher.find() ? Integer.parseInt(matcher.group()) : 0;
+    }
+    
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException();
+        }
+        return b;
+    }
+    
+    private static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16) | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+    
+    private static int readIntLE(byte[] data, int offset) {
+        return (data[offset] & 0xFF) | ((data[offset + 1] & 0xFF) << 8) | ((data[offset + 2] & 0xFF) << 16) | ((data[offset + 3] & 0xFF) << 24);
+    }
+    
+    private static int readShortLE(byte[] data, int offset) {
+        return (data[offset] & 0xFF) | ((data[offset + 1] & 0xFF) << 8);
+    }
+}
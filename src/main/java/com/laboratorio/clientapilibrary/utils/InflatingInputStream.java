@@ -0,0 +1,217 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Descompresor gzip y deflate que reutiliza los Inflater y los buffers de
+ * entrada entre respuestas. Al cerrarse devuelve ambos al pool.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+class InflatingInputStream extends InflaterInputStream {
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_POOLED = 32;
+    
+    // Los Inflater con y sin cabecera zlib no son intercambiables, por lo que hay un pool para cada tipo
+    private static final ObjectPool<Inflater> ZLIB_INFLATERS = new ObjectPool<>(MAX_POOLED);
+    private static final ObjectPool<Inflater> RAW_INFLATERS = new ObjectPool<>(MAX_POOLED);
+    
+    private final boolean gzip;
+    private final boolean nowrap;
+    private final CRC32 crc;
+    private boolean eos;
+    private boolean closed;
+    
+    private InflatingInputStream(InputStream in, boolean gzip, boolean nowrap) throws IOException {
+        // El buffer mínimo de la superclase se sustituye por uno del pool
+        super(in, acquireInflater(nowrap), 1);
+        this.buf = BufferPool.acquire(BUFFER_SIZE);
+        this.gzip = gzip;
+        this.nowrap = nowrap;
+        this.crc = gzip ? new CRC32() : null;
+        if (gzip) {
+            try {
+                this.readHeader(in);
+            } catch (IOException e) {
+                this.close();
+                throw e;
+            }
+        }
+    }
+    
+    public static InputStream gzip(InputStream in) throws IOException {
+        return new InflatingInputStream(in, true, true);
+    }
+    
+    // Según la RFC el deflate de HTTP lleva cabecera zlib, pero algunos servidores lo envían sin ella
+    public static InputStream deflate(InputStream in) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(in, 2);
+        byte[] header = new byte[2];
+        int n = pushback.readNBytes(header, 0, 2);
+        pushback.unread(header, 0, n);
+        boolean zlib = (n == 2) && ((header[0] & 0x0F) == 8) && ((((header[0] & 0xFF) << 8) | (header[1] & 0xFF)) % 31 == 0);
+        
+        return new InflatingInputStream(pushback, false, !zlib);
+    }
+    
+    private static Inflater acquireInflater(boolean nowrap) {
+        Inflater inflater = (nowrap ? RAW_INFLATERS : ZLIB_INFLATERS).poll();
+        return (inflater == null) ? new Inflater(nowrap) : inflater;
+    }
+    
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (this.eos) {
+            return -1;
+        }
+        
+        int n = super.read(b, off, len);
+        if (n == -1) {
+            // Al terminar un miembro gzip puede venir otro concatenado
+            if (this.gzip && !this.readTrailer()) {
+                return this.read(b, off, len);
+            }
+            this.eos = true;
+        } else if (this.gzip) {
+            this.crc.update(b, off, n);
+        }
+        
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        
+        try {
+            super.close();
+        } finally {
+            this.inf.reset();
+            if (!(this.nowrap ? RAW_INFLATERS : ZLIB_INFLATERS).offer(this.inf)) {
+                this.inf.end();
+            }
+            BufferPool.release(this.buf);
+        }
+    }
+    
+    // Lee la cabecera de un miembro gzip y devuelve su longitud
+    private int readHeader(InputStream stream) throws IOException {
+        CheckedInputStream in = new CheckedInputStream(stream, this.crc);
+        this.crc.reset();
+        if (readUShort(in) != GZIP_MAGIC) {
+            throw new ZipException("No es un fichero en formato GZIP");
+        }
+        if (readUByte(in) != 8) {
+            throw new ZipException("Método de compresión GZIP no soportado");
+        }
+        int flags = readUByte(in);
+        // Se descartan MTIME, XFL y OS
+        skipBytes(in, 6);
+        int n = 10;
+        if ((flags & FEXTRA) == FEXTRA) {
+            int extra = readUShort(in);
+            skipBytes(in, extra);
+            n += extra + 2;
+        }
+        if ((flags & FNAME) == FNAME) {
+            do {
+                n++;
+            } while (readUByte(in) != 0);
+        }
+        if ((flags & FCOMMENT) == FCOMMENT) {
+            do {
+                n++;
+            } while (readUByte(in) != 0);
+        }
+        if ((flags & FHCRC) == FHCRC) {
+            int value = (int) this.crc.getValue() & 0xFFFF;
+            if (readUShort(in) != value) {
+                throw new ZipException("CRC de la cabecera GZIP incorrecto");
+            }
+            n += 2;
+        }
+        this.crc.reset();
+        
+        return n;
+    }
+    
+    // Comprueba el trailer del miembro gzip. Devuelve false si le sigue otro miembro
+    private boolean readTrailer() throws IOException {
+        InputStream in = this.in;
+        int remaining = this.inf.getRemaining();
+        if (remaining > 0) {
+            in = new SequenceInputStream(new ByteArrayInputStream(this.buf, this.len - remaining, remaining), new FilterInputStream(this.in) {
+                @Override
+                public void close() throws IOException {
+                }
+            });
+        }
+        if ((readUInt(in) != this.crc.getValue()) || (readUInt(in) != (this.inf.getBytesWritten() & 0xFFFFFFFFL))) {
+            throw new ZipException("Trailer GZIP incorrecto");
+        }
+        
+        if ((this.in.available() > 0) || (remaining > 26)) {
+            int m = 8;
+            try {
+                m += this.readHeader(in);
+            } catch (IOException e) {
+                // Lo que sigue no es otro miembro gzip y se ignora
+                return true;
+            }
+            this.inf.reset();
+            if (remaining > m) {
+                this.inf.setInput(this.buf, this.len - remaining + m, remaining - m);
+            }
+            return false;
+        }
+        
+        return true;
+    }
+    
+    private static long readUInt(InputStream in) throws IOException {
+        long s = readUShort(in);
+        return ((long) readUShort(in) << 16) | s;
+    }
+    
+    private static int readUShort(InputStream in) throws IOException {
+        int b = readUByte(in);
+        return (readUByte(in) << 8) | b;
+    }
+    
+    private static int readUByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            throw new EOFException();
+        }
+        return b;
+    }
+    
+    private static void skipBytes(InputStream in, int n) throws IOException {
+        for (int i = 0; i < n; i++) {
+            readUByte(in);
+        }
+    }
+}
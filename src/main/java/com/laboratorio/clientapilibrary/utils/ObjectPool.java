@@ -0,0 +1,56 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pool acotado de objetos costosos de crear, como los Inflater, Deflater y
+ * buffers de E/S. Si está vacío se crea uno nuevo y si está lleno el objeto
+ * devuelto se descarta. Los huecos se reservan con CAS, por lo que tomar y
+ * devolver objetos no bloquea ni genera basura.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+class ObjectPool<T> {
+    private final AtomicReferenceArray<T> slots;
+    
+    ObjectPool(int maxSize) {
+        this.slots = new AtomicReferenceArray<>(maxSize);
+    }
+    
+    // Cada hilo empieza a buscar en un hueco distinto para repartir la contención
+    private int getStart() {
+        return (int) (Thread.currentThread().threadId() % this.slots.length());
+    }
+    
+    // Devuelve null si no hay ningún objeto disponible
+    T poll() {
+        int length = this.slots.length();
+        int start = this.getStart();
+        for (int i = 0; i < length; i++) {
+            int index = (start + i) % length;
+            T item = this.slots.get(index);
+            if ((item != null) && this.slots.compareAndSet(index, item, null)) {
+                return item;
+            }
+        }
+        
+        return null;
+    }
+    
+    // Devuelve false si el pool está lleno y el objeto debe descartarse
+    boolean offer(T item) {
+        int length = this.slots.length();
+        int start = this.getStart();
+        for (int i = 0; i < length; i++) {
+            int index = (start + i) % length;
+            if ((this.slots.get(index) == null) && this.slots.compareAndSet(index, null, item)) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+}
@@ -1,12 +1,6 @@
 package com.laboratorio.clientapilibrary.utils;
 
-import com.drew.imaging.ImageMetadataReader;
-import com.drew.metadata.Directory;
-import com.drew.metadata.Metadata;
-import com.drew.metadata.Tag;
 import com.laboratorio.clientapilibrary.exceptions.UtilsApiException;
-import java.io.BufferedInputStream;
-import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -25,9 +19,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
 
 /**
  *
@@ -96,42 +87,18 @@ public class PostUtils {
         return resultados;
     }
 
+    // La metadata se guarda en UrlMetadataCache durante un tiempo para no descargar
+    // la misma página en cada publicación
     public static Map<String, String> getUrlMetadata(String url) {
+        return new HashMap<>(UrlMetadataCache.get(url));
+    }
+
+    static Map<String, String> fetchUrlMetadata(String url) {
         Map<String, String> metadata = new HashMap<>();
 
         try {
-            // Conecta a la URL y obtiene el documento HTML
-            Document doc = Jsoup.connect(url).get();
-
-            // Extrae el título
-            String title = doc.title();
-            metadata.put("title", title);
-
-            // Extrae la descripción
-            Element description = doc.selectFirst("meta[name=description]");
-            if (description != null) {
-                metadata.put("description", description.attr("content"));
-            } else {
-                Element ogTitle = doc.selectFirst("meta[property=og:title]");
-                if (ogTitle != null) {
-                    metadata.put("description", ogTitle.attr("content"));
-                } else {
-                    Element h1Tag = doc.selectFirst("h1");
-                    if (h1Tag != null) {
-                        metadata.put("description", h1Tag.text());
-                    } else {
-                        Element h2Tag = doc.selectFirst("h2");
-                        if (h2Tag != null) {
-                            metadata.put("description", h2Tag.text());
-                        }
-                    }
-                }
-            }
-
-            Element ogImage = doc.selectFirst("meta[property=og:image]");
-            if (ogImage != null) {
-                metadata.put("previmg", ogImage.attr("content"));
-            }
+            // Se analiza la página mientras se descarga y solo hasta tener la metadata
+            metadata = HtmlMetadataExtractor.extract(url);
             
             log.debug("Se extrajo la metadata de la url: " + url);
         } catch (IOException e) {
@@ -159,16 +126,20 @@ public class PostUtils {
             int responseCode = connection.getResponseCode();
             if (responseCode == HttpURLConnection.HTTP_OK) {
                 // Obtener el input stream de la conexión
-                inputStream = new BufferedInputStream(connection.getInputStream());
+                inputStream = connection.getInputStream();
                 fileOutputStream = new FileOutputStream(destinationFile);
 
-                // Buffer para almacenar los datos leídos
-                byte[] buffer = new byte[4096];
-                int bytesRead;
+                // Buffer del pool para almacenar los datos leídos
+                byte[] buffer = BufferPool.acquire(BufferPool.MIN_SIZE * 4);
+                try {
+                    int bytesRead;
 
-                // Leer desde el input stream y escribir en el archivo
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    fileOutputStream.write(buffer, 0, bytesRead);
+                    // Leer desde el input stream y escribir en el archivo
+                    while ((bytesRead = inputStream.read(buffer)) != -1) {
+                        fileOutputStream.write(buffer, 0, bytesRead);
+                    }
+                } finally {
+                    BufferPool.release(buffer);
                 }
 
                 log.debug("Imagen descargada correctamente a: " + destinationFile);
@@ -194,14 +165,20 @@ public class PostUtils {
     /* Extrae la imagen de la metadata del primer enlace encontrado en los elementos del Post */
     public static String getThumbnail(List<ElementoPost> elementos, String destination) {
         try {
+            List<String> links = new ArrayList<>();
             for (ElementoPost elem : elementos) {
                 if (elem.getType() == TipoElementoPost.Link) {
-                    Map<String, String> metadata = getUrlMetadata(elem.getContenido());
-                    String imageUrl = metadata.get("previmg");
-                    if (imageUrl != null) {
-                        downloadImage(imageUrl, destination);
-                        return destination;
-                    }
+                    links.add(elem.getContenido());
+                }
+            }
+            
+            // Se resuelven todos los enlaces en paralelo y se usa el primero con imagen
+            Map<String, Map<String, String>> metadata = UrlMetadataCache.getAll(links);
+            for (String link : links) {
+                String imageUrl = metadata.get(link).get("previmg");
+                if (imageUrl != null) {
+                    downloadImage(imageUrl, destination);
+                    return destination;
                 }
             }
         } catch (Exception e) {
@@ -217,12 +194,14 @@ public class PostUtils {
             MessageDigest md = MessageDigest.getInstance("MD5");
 
             // Leer el archivo y actualizar el MessageDigest
+            byte[] buffer = BufferPool.acquire(BufferPool.MIN_SIZE * 4);
             try (InputStream is = new FileInputStream(filePath)) {
-                byte[] buffer = new byte[1024];
                 int bytesRead;
                 while ((bytesRead = is.read(buffer)) != -1) {
                     md.update(buffer, 0, bytesRead);
                 }
+            } finally {
+                BufferPool.release(buffer);
             }
 
             // Obtener el hash en forma de byte array
@@ -236,53 +215,8 @@ public class PostUtils {
         }
     }
 
-    private static int extraerNumeros(String texto) {
-        // Expresión regular para extraer números
-        Pattern numberPattern = Pattern.compile("\\d+");
-
-        Matcher matcher = numberPattern.matcher(texto);
-        matcher.find();
-        String numbers = matcher.group();
-
-        return Integer.parseInt(numbers);
-    }
-
+    // La lectura se delega en ImageMetadataExtractor, que guarda el resultado en caché
     public static ImageMetadata extractImageMetadata(String filePath) {
-        try {
-            // Ruta al archivo JPG
-            File file = new File(filePath);
-
-            // Leer la metadata de la imagen
-            Metadata metadata = ImageMetadataReader.readMetadata(file);
-
-            ImageMetadata imageMetadata = new ImageMetadata();
-
-            // Recorrer todos los directorios de metadata
-            for (Directory directory : metadata.getDirectories()) {
-                // Recorrer todas las etiquetas en cada directorio
-                for (Tag tag : directory.getTags()) {
-                    if (tag.getTagName().equalsIgnoreCase("Image Height")) {
-                        imageMetadata.setHeight(extraerNumeros(tag.getDescription()));
-                    }
-                    if (tag.getTagName().equalsIgnoreCase("Image Width")) {
-                        imageMetadata.setWidth(extraerNumeros(tag.getDescription()));
-                    }
-                    if (tag.getTagName().equalsIgnoreCase("Detected MIME Type")) {
-                        imageMetadata.setMimeType(tag.getDescription());
-                    }
-                    if (tag.getTagName().equalsIgnoreCase("File Size")) {
-                        imageMetadata.setSize(extraerNumeros(tag.getDescription()));
-                    }
-                    // Imprimir nombre de la etiqueta y su valor
-                    // System.out.println(tag.getTagName() + ": " + tag.getDescription());
-                }
-            }
-            
-            log.debug("Se extrajo la metadata de la imagen: " + filePath);
-
-            return imageMetadata;
-        } catch (Exception e) {
-            throw new UtilsApiException(PostUtils.class.getName(), "Error al extraer la metadata de la imagen " + filePath, e);
-        }
+        return ImageMetadataExtractor.extract(filePath);
     }
 }
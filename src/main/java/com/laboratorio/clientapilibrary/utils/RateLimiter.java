@@ -0,0 +1,151 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import com.laboratorio.clientapilibrary.model.ApiRequest;
+import com.laboratorio.clientapilibrary.transport.TransportResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Limitador de peticiones tipo token bucket por host y, opcionalmente, por cuenta.
+ * Cada cubo es un único AtomicLong con el instante teórico de la siguiente petición
+ * (algoritmo GCRA), por lo que reservar turno no bloquea a otros hilos. El ritmo se
+ * ajusta con las cabeceras X-RateLimit-Remaining y X-RateLimit-Reset del servidor.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class RateLimiter {
+    private static final Logger log = LogManager.getLogger(RateLimiter.class);
+    // Un valor de X-RateLimit-Reset mayor se interpreta como instante epoch en segundos
+    private static final long EPOCH_THRESHOLD = 1_000_000_000L;
+    
+    private final double permitsPerSecond;
+    private final int burst;
+    // Cabecera de la petición que identifica la cuenta, por ejemplo Authorization (null para no usarla)
+    private final String accountHeader;
+    private final Map<String, double[]> hostLimits = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, null);
+    }
+    
+    public RateLimiter(double permitsPerSecond, int burst, String accountHeader) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.accountHeader = accountHeader;
+    }
+    
+    // Fija un límite distinto del general para un host. Se aplica a los cubos que se creen después
+    public void setHostLimit(String host, double permitsPerSecond, int burst) {
+        this.hostLimits.put(host.toLowerCase(), new double[] {permitsPerSecond, Math.max(1, burst)});
+    }
+    
+    private static class Bucket {
+        private final long baseInterval;
+        private final long burst;
+        // Instante teórico (nanoTime) en el que el cubo vuelve a estar vacío de peticiones
+        private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+        // Intervalo entre peticiones vigente; el servidor puede ralentizarlo
+        private volatile long interval;
+        
+        Bucket(double permitsPerSecond, int burst) {
+            this.baseInterval = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+            this.interval = this.baseInterval;
+            this.burst = burst;
+        }
+        
+        // Reserva un turno y devuelve la espera necesaria en nanosegundos, o -1 si supera maxWait
+        long tryReserve(long maxWait) {
+            while (true) {
+                long now = System.nanoTime();
+                long current = this.theoreticalArrival.get();
+                long interval = this.interval;
+                long next = Math.max(current, now) + interval;
+                long wait = next - (this.burst * interval) - now;
+                if (wait > maxWait) {
+                    return -1L;
+                }
+                if (this.theoreticalArrival.compareAndSet(current, next)) {
+                    return Math.max(0L, wait);
+                }
+            }
+        }
+        
+        // No se concede ningún turno hasta el instante indicado
+        void blockUntil(long until) {
+            long target = until + ((this.burst - 1) * this.interval);
+            this.theoreticalArrival.accumulateAndGet(target, Math::max);
+        }
+    }
+    
+    private String getKey(ApiRequest request) {
+        String account = request.getRateLimitAccount();
+        if ((account == null) && (this.accountHeader != null)) {
+            String value = request.getApiHeader(this.accountHeader);
+            if (value != null) {
+                // No se guarda la credencial en claro, basta con distinguir las cuentas
+                account = Integer.toHexString(value.hashCode());
+            }
+        }
+        
+        return (account == null) ? request.getHost() : request.getHost() + "|" + account;
+    }
+    
+    private Bucket getBucket(ApiRequest request) {
+        return this.buckets.computeIfAbsent(this.getKey(request), key -> {
+            double[] limit = this.hostLimits.get(request.getHost());
+            return (limit == null) ? new Bucket(this.permitsPerSecond, this.burst) : new Bucket(limit[0], (int) limit[1]);
+        });
+    }
+    
+    // Reserva turno para la petición. Devuelve la espera en nanosegundos, o -1 si es mayor que maxWait
+    public long reserve(ApiRequest request, long maxWait) {
+        return this.getBucket(request).tryReserve(maxWait);
+    }
+    
+    // Ajusta el ritmo del cubo con las cabeceras de límite de la respuesta
+    public void update(ApiRequest request, TransportResponse response) {
+        Long remaining = this.parseLong(response.getHeader("X-RateLimit-Remaining"));
+        Long reset = this.parseLong(response.getHeader("X-RateLimit-Reset"));
+        if ((remaining == null) || (reset == null)) {
+            return;
+        }
+        
+        long resetSeconds = (reset > EPOCH_THRESHOLD) ? reset - (System.currentTimeMillis() / 1000L) : reset;
+        long resetNanos = TimeUnit.SECONDS.toNanos(Math.max(0L, resetSeconds));
+        Bucket bucket = this.getBucket(request);
+        
+        if (remaining <= 0) {
+            log.warn(String.format("Se agotó el límite de peticiones de %s, se espera %d s", this.getKey(request), resetSeconds));
+            bucket.interval = bucket.baseInterval;
+            bucket.blockUntil(System.nanoTime() + resetNanos);
+        } else {
+            // Se reparten las peticiones que quedan hasta el reinicio, sin superar el ritmo configurado
+            bucket.interval = Math.max(bucket.baseInterval, resetNanos / remaining);
+        }
+    }
+    
+    private Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        
+        try {
+            return (long) Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    public Duration getInterval(ApiRequest request) {
+        return Duration.ofNanos(this.getBucket(request).interval);
+    }
+}
@@ -0,0 +1,50 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Presupuesto de reintentos compartido por todas las peticiones de un ApiClient.
+ * Cada fallo transitorio consume un token y cada respuesta definitiva devuelve
+ * una fracción; por debajo de la mitad de la capacidad se dejan de reintentar
+ * las peticiones para no multiplicar la carga sobre un servidor en apuros.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class RetryBudget {
+    // Los tokens se guardan en milésimas para poder sumar fracciones sin bloqueos
+    private static final long SCALE = 1000L;
+    
+    private final long maxTokens;
+    private final long threshold;
+    private final long tokenRatio;
+    private final AtomicLong tokens;
+
+    public RetryBudget() {
+        this(100, 0.1);
+    }
+    
+    public RetryBudget(int maxTokens, double tokenRatio) {
+        this.maxTokens = maxTokens * SCALE;
+        this.threshold = this.maxTokens / 2;
+        this.tokenRatio = Math.round(tokenRatio * SCALE);
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+    
+    public void recordSuccess() {
+        if (this.tokens.get() < this.maxTokens) {
+            this.tokens.updateAndGet(t -> Math.min(this.maxTokens, t + this.tokenRatio));
+        }
+    }
+    
+    // Registra un fallo transitorio y devuelve si todavía se permite reintentar
+    public boolean recordFailure() {
+        return this.tokens.updateAndGet(t -> Math.max(0L, t - SCALE)) > this.threshold;
+    }
+    
+    public double getTokens() {
+        return (double) this.tokens.get() / SCALE;
+    }
+}
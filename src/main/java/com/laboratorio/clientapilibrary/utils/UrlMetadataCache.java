@@ -0,0 +1,147 @@
+package com.laboratorio.clientapilibrary.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Caché de la metadata de las URL (título, descripción e imagen de previsualización).
+ * Las entradas caducan pasado el tiempo de vida y se expulsan las menos usadas al
+ * superar el máximo. Las consultas simultáneas de una misma URL comparten una única
+ * descarga.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class UrlMetadataCache {
+    private static final Logger log = LogManager.getLogger(UrlMetadataCache.class);
+    
+    private static volatile long timeToLive = Duration.ofMinutes(10).toMillis();
+    private static volatile int maxEntries = 512;
+    private static final Map<String, CachedMetadata> cache = new LinkedHashMap<>(16, 0.75f, true);
+    // Descargas en curso, compartidas por las consultas de la misma URL
+    private static final Map<String, CompletableFuture<Map<String, String>>> inFlight = new ConcurrentHashMap<>();
+    
+    private record CachedMetadata(Map<String, String> metadata, long expiresAt) {
+    }
+    
+    private UrlMetadataCache() {
+    }
+    
+    public static void setTimeToLive(Duration ttl) {
+        timeToLive = ttl.toMillis();
+    }
+    
+    public static void setMaxEntries(int entries) {
+        maxEntries = entries;
+    }
+    
+    // Devuelve un mapa inmutable. Solo se descarga la página si la URL no está en caché ni descargándose
+    public static Map<String, String> get(String url) {
+        synchronized (cache) {
+            CachedMetadata cached = cache.get(url);
+            if (cached != null) {
+                if (cached.expiresAt() > System.currentTimeMillis()) {
+                    return cached.metadata();
+                }
+                cache.remove(url);
+            }
+        }
+        
+        CompletableFuture<Map<String, String>> created = new CompletableFuture<>();
+        CompletableFuture<Map<String, String>> running = inFlight.putIfAbsent(url, created);
+        if (running != null) {
+            log.debug("Se espera a la descarga en curso de la metadata de la url: " + url);
+            return running.join();
+        }
+        
+        try {
+            Map<String, String> metadata = Map.copyOf(PostUtils.fetchUrlMetadata(url));
+            // Un resultado vacío indica un error de descarga y no se guarda
+            if (!metadata.isEmpty()) {
+                put(url, metadata);
+            }
+            created.complete(metadata);
+            
+            return metadata;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(url, created);
+        }
+    }
+    
+    // Resuelve en paralelo, con un hilo virtual por URL, la metadata de varias URL.
+    // Devuelve un mapa en el orden recibido con un mapa vacío en las URL que fallaron
+    public static Map<String, Map<String, String>> getAll(Collection<String> urls) {
+        Map<String, Map<String, String>> result = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Map<String, String>>> futures = new ArrayList<>(urls.size());
+            for (String url : urls) {
+                futures.add(executor.submit(() -> get(url)));
+            }
+            
+            int i = 0;
+            for (String url : urls) {
+                Map<String, String> metadata;
+                try {
+                    metadata = futures.get(i++).get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    metadata = Map.of();
+                } catch (Exception e) {
+                    log.error("Error extrayendo la metadata de la URL " + url + ": " + e.getMessage());
+                    metadata = Map.of();
+                }
+                result.putIfAbsent(url, metadata);
+            }
+        }
+        
+        return result;
+    }
+    
+    private static void put(String url, Map<String, String> metadata) {
+        synchronized (cache) {
+            cache.put(url, new CachedMetadata(metadata, System.currentTimeMillis() + timeToLive));
+            
+            // Se expulsan las entradas usadas hace más tiempo
+            Iterator<CachedMetadata> iterator = cache.values().iterator();
+            while ((cache.size() > maxEntries) && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+    
+    public static void invalidate(String url) {
+        synchronized (cache) {
+            cache.remove(url);
+        }
+    }
+    
+    public static void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+    
+    public static int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
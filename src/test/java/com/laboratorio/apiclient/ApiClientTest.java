@@ -1,13 +1,22 @@
 package com.laboratorio.apiclient;
 
 import com.laboratorio.clientapilibrary.exceptions.ApiClientException;
+import com.laboratorio.clientapilibrary.exceptions.ApiTimeoutException;
 import com.laboratorio.clientapilibrary.ApiClient;
+import com.laboratorio.clientapilibrary.model.ApiBatchConfig;
 import com.laboratorio.clientapilibrary.model.ApiMethodType;
 import com.laboratorio.clientapilibrary.model.ApiRequest;
+import com.laboratorio.clientapilibrary.model.ApiRequestResult;
 import com.laboratorio.clientapilibrary.model.ApiResponse;
 import com.laboratorio.clientapilibrary.utils.CookieManager;
+import java.io.BufferedReader;
 import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,7 +28,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * @author Rafael
  * @version 1.0
  * @created 06/09/2024
- * @updated 05/10/2024
+ * @updated 17/10/2026
  */
 public class ApiClientTest {
     private static final Logger log = LogManager.getLogger(ApiClientTest.class);
@@ -50,6 +59,70 @@ public class ApiClientTest {
         });
     }
     
+    @Test
+    public void executeGetRequestAsync() throws Exception {
+        ApiRequest request = new ApiRequest("https://api.gettr.com/s/uinf/labrafa", 200, ApiMethodType.GET);
+        request.addApiHeader("Content-Type", "application/json");
+        
+        ApiResponse response = client.executeApiRequestAsync(request).get();
+        
+        assertTrue(response.getResponseStr().contains("labrafa"));
+    }
+    
+    @Test
+    public void executeGetRequestTimeout() {
+        ApiRequest request = new ApiRequest("https://httpbin.org/delay/10", 200, ApiMethodType.GET);
+        request.setTimeout(Duration.ofSeconds(2));
+        
+        long start = System.nanoTime();
+        assertThrows(ApiTimeoutException.class, () -> {
+            client.executeApiRequest(request);
+        });
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toSeconds() < 5);
+    }
+    
+    @Test
+    public void executeGetRequestAsyncInvalid() {
+        ApiRequest request = new ApiRequest("https://api.gettr.com/s/uinf/3423423labrafa/fasdsf", 200, ApiMethodType.GET);
+        request.addApiHeader("Content-Type", "application/json");
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        
+        ExecutionException e = assertThrows(ExecutionException.class, () -> {
+            client.executeApiRequestAsync(request, executor).get();
+        });
+        assertInstanceOf(ApiClientException.class, e.getCause());
+        executor.shutdown();
+    }
+    
+    @Test
+    public void executeGetRequestStream() {
+        ApiRequest request = new ApiRequest("https://api.gettr.com/s/uinf/labrafa", 200, ApiMethodType.GET);
+        request.addApiHeader("Accept-Encoding", "gzip");
+        
+        boolean found = client.executeApiRequest(request, response -> {
+            BufferedReader reader = new BufferedReader(response.getReader());
+            return reader.lines().anyMatch(line -> line.contains("labrafa"));
+        });
+        
+        assertTrue(found);
+    }
+    
+    @Test
+    public void executeAllRequests() {
+        List<ApiRequest> requests = new ArrayList<>();
+        requests.add(new ApiRequest("https://api.gettr.com/s/uinf/labrafa", 200, ApiMethodType.GET));
+        requests.add(new ApiRequest("https://api.gettr.com/s/uinf/3423423labrafa/fasdsf", 200, ApiMethodType.GET));
+        requests.add(new ApiRequest("https://fakestoreapi.com/products/1", 200, ApiMethodType.GET));
+        ApiBatchConfig config = new ApiBatchConfig(10, 2, Duration.ofSeconds(30));
+        
+        List<ApiRequestResult> results = client.executeAll(requests, config);
+        
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(2).isSuccess());
+    }
+    
     @Test
     public void executeGetRequestBrotliEncoded() {
         String uri = "https://www.minds.com/api/v1/channel/disobedientcitizen";
@@ -0,0 +1,371 @@
+package com.laboratorio.apiclient;
+
+import com.laboratorio.apiclient.harness.LoadDriver;
+import com.laboratorio.apiclient.harness.LoadReport;
+import com.laboratorio.apiclient.harness.LocalApiServer;
+import com.laboratorio.clientapilibrary.ApiClient;
+import com.laboratorio.clientapilibrary.cache.ApiResponseCache;
+import com.laboratorio.clientapilibrary.exceptions.ApiClientException;
+import com.laboratorio.clientapilibrary.exceptions.ApiTimeoutException;
+import com.laboratorio.clientapilibrary.model.ApiElement;
+import com.laboratorio.clientapilibrary.model.ApiElementType;
+import com.laboratorio.clientapilibrary.model.ApiMethodType;
+import com.laboratorio.clientapilibrary.model.ApiProtocol;
+import com.laboratorio.clientapilibrary.model.ApiRequest;
+import com.laboratorio.clientapilibrary.model.ApiRequestTemplate;
+import com.laboratorio.clientapilibrary.model.ApiResponse;
+import com.laboratorio.clientapilibrary.model.ApiValueType;
+import com.laboratorio.clientapilibrary.utils.HtmlMetadataExtractor;
+import com.laboratorio.clientapilibrary.utils.PostUtils;
+import java.io.File;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de ApiClient contra el servidor local, sin acceso a la red.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class LocalServerTest {
+    private static final Logger log = LogManager.getLogger(LocalServerTest.class);
+    private static LocalApiServer server;
+    private static String baseUri;
+    private ApiClient client;
+    
+    @BeforeAll
+    public static void startServer() throws Exception {
+        server = new LocalApiServer();
+        baseUri = server.getBaseUri();
+    }
+    
+    @AfterAll
+    public static void stopServer() {
+        server.close();
+    }
+    
+    @BeforeEach
+    public void initTest() {
+        this.client = new ApiClient();
+    }
+    
+    @Test
+    public void decodeCompressedResponses() {
+        String expected = new String(LocalApiServer.createJson(20000), StandardCharsets.UTF_8);
+        
+        for (String encoding : new String[] {"identity", "gzip", "deflate", "br", "gzip,br", "auto"}) {
+            ApiRequest request = new ApiRequest(baseUri + "/json", 200, ApiMethodType.GET);
+            request.addApiPathParam("size", "20000");
+            request.addApiPathParam("encoding", encoding);
+            
+            assertEquals(expected, this.client.executeApiRequest(request).getResponseStr());
+        }
+    }
+    
+    @Test
+    public void decodeBodyOnDemand() throws Exception {
+        ApiRequest request = new ApiRequest(baseUri + "/json?size=20000&encoding=gzip", 200, ApiMethodType.GET);
+        
+        int size = LocalApiServer.createJson(20000).length;
+        
+        ApiResponse response = this.client.executeApiRequest(request);
+        // El cuerpo se conserva comprimido hasta que se consulta
+        assertTrue(response.getRawBody().length < size);
+        assertEquals(size, response.getBodyBytes().length);
+        assertEquals(response.getResponseStr(), response.getBodyAsString(StandardCharsets.UTF_8));
+        assertEquals(size, response.getBodyStream().readAllBytes().length);
+    }
+    
+    @Test
+    public void compressLargePayload() {
+        String payload = new String(LocalApiServer.createJson(50000), StandardCharsets.UTF_8);
+        
+        for (String encoding : new String[] {"gzip", "deflate", "br"}) {
+            ApiRequest request = new ApiRequest(baseUri + "/echo", 200, ApiMethodType.POST, payload);
+            request.setPayloadEncoding(encoding);
+            
+            ApiResponse response = this.client.executeApiRequest(request);
+            assertEquals(payload, response.getResponseStr());
+            long received = Long.parseLong(response.getHttpHeaders().get("X-Received-Bytes").get(0));
+            assertTrue(received < payload.length() / 4);
+        }
+        
+        // Una codificación desconocida se rechaza al asignarla, no al ejecutar la petición
+        ApiRequest request = new ApiRequest(baseUri + "/echo", 200, ApiMethodType.POST, payload);
+        assertThrows(ApiClientException.class, () -> request.setPayloadEncoding("zstd"));
+    }
+    
+    @Test
+    public void fallBackToHttp1() {
+        this.client.setProtocol(ApiProtocol.HTTP_2);
+        ApiRequest request = new ApiRequest(baseUri + "/json", 200, ApiMethodType.GET);
+        request.setPriority(0);
+        
+        // El servidor local solo habla HTTP/1.1
+        assertEquals(ApiProtocol.HTTP_1_1, this.client.executeApiRequest(request).getProtocol());
+    }
+    
+    @Test
+    public void executeRequestTemplate() {
+        ApiRequest prototype = new ApiRequest(baseUri + "/json", 200, ApiMethodType.GET);
+        prototype.addApiHeader("Accept", "application/json");
+        prototype.addApiPathParam("encoding", "gzip");
+        ApiRequestTemplate template = new ApiRequestTemplate(prototype);
+        
+        for (int size = 1000; size <= 3000; size += 1000) {
+            ApiRequest request = template.newRequest("size", String.valueOf(size));
+            assertEquals(LocalApiServer.createJson(size).length, this.client.executeApiRequest(request).getBodyBytes().length);
+        }
+        // La plantilla no se ve afectada por los parámetros añadidos a sus peticiones
+        assertEquals("?encoding=gzip", template.newRequest().getQueryParams());
+    }
+    
+    @Test
+    public void modifyRequestElements() {
+        ApiRequest prototype = new ApiRequest(baseUri + "/json", 200, ApiMethodType.GET);
+        prototype.addApiPathParam("size", "1000");
+        prototype.addApiCookie("sesion=1");
+        ApiRequestTemplate template = new ApiRequestTemplate(prototype);
+        
+        // Los cambios en los elementos de una petición se reflejan en su query
+        ApiRequest request = template.newRequest();
+        assertEquals("?size=1000", request.getQueryParams());
+        request.getElements().get(0).setValue("2000");
+        assertEquals("?size=2000", request.getQueryParams());
+        request.getElements().add(new ApiElement(ApiElementType.PATHPARAM, "encoding", ApiValueType.TEXT, "gzip"));
+        assertEquals("?size=2000&encoding=gzip", request.getQueryParams());
+        assertEquals(LocalApiServer.createJson(2000).length, this.client.executeApiRequest(request).getBodyBytes().length);
+        
+        // Las cookies se pueden modificar igual que en una petición normal
+        request.getCookies().add("idioma=es");
+        assertEquals(List.of("sesion=1", "idioma=es"), request.getCookies());
+        
+        // Sin alterar la plantilla ni las demás peticiones
+        assertEquals(List.of("sesion=1"), template.newRequest().getCookies());
+        assertEquals("?size=1000", template.getQueryParams());
+        assertEquals("?size=1000", template.newRequest().getQueryParams());
+        assertThrows(UnsupportedOperationException.class, () -> template.getElements().get(0).setValue("3000"));
+    }
+    
+    @Test
+    public void storeAndResendCookies() throws Exception {
+        File cookiesFile = File.createTempFile("cookies", ".json");
+        cookiesFile.delete();
+        this.client = new ApiClient(cookiesFile.getAbsolutePath());
+        ApiRequest request = new ApiRequest(baseUri + "/cookies?n=3", 200, ApiMethodType.GET);
+        
+        ApiResponse first = this.client.executeApiRequest(request);
+        assertEquals(3, first.getCookies().size());
+        ApiResponse second = this.client.executeApiRequest(request);
+        assertTrue(second.getResponseStr().contains("cookie2=valor2"));
+    }
+    
+    @Test
+    public void retryRateLimitedRequest() {
+        ApiRequest request = new ApiRequest(baseUri + "/ratelimit?limit=1&window=1", 200, ApiMethodType.GET);
+        
+        // La segunda petición recibe un 429 y se reintenta tras el Retry-After
+        this.client.executeApiRequest(request);
+        ApiResponse response = this.client.executeApiRequest(request);
+        assertTrue(response.getResponseStr().contains("ok"));
+    }
+    
+    @Test
+    public void readChunkedResponse() {
+        ApiRequest request = new ApiRequest(baseUri + "/chunked?chunks=50&size=1000&pause=2", 200, ApiMethodType.GET);
+        
+        assertEquals(50000, this.client.executeApiRequest(request).getResponseStr().length());
+    }
+    
+    @Test
+    public void abortSlowBody() {
+        ApiRequest request = new ApiRequest(baseUri + "/slow?bytes=100000&rate=10000", 200, ApiMethodType.GET);
+        request.setTimeout(Duration.ofMillis(500));
+        
+        assertThrows(ApiTimeoutException.class, () -> {
+            this.client.executeApiRequest(request);
+        });
+    }
+    
+    @Test
+    public void abortStalledBody() throws Exception {
+        this.client.setRetryPolicy(null);
+        this.client.setDefaultReadTimeout(Duration.ofMillis(300));
+        // Las cabeceras y el primer fragmento llegan enseguida; el segundo tarda 3 segundos
+        String uri = baseUri + "/chunked?chunks=2&size=10&pause=3000";
+        
+        long start = System.nanoTime();
+        assertThrows(ApiTimeoutException.class, () -> {
+            this.client.executeApiRequest(new ApiRequest(uri, 200, ApiMethodType.GET));
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, () -> {
+            this.client.executeApiRequestAsync(new ApiRequest(uri, 200, ApiMethodType.GET)).get();
+        });
+        assertInstanceOf(ApiTimeoutException.class, e.getCause());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2000);
+    }
+    
+    @Test
+    public void loadWithInjectedLatency() {
+        LoadDriver driver = new LoadDriver(this.client);
+        LoadReport report = driver.run(() -> {
+            ApiRequest request = new ApiRequest(baseUri + "/json", 200, ApiMethodType.GET);
+            request.addApiPathParam("size", "2048");
+            request.addApiPathParam("delay", "5");
+            request.addApiPathParam("jitter", "10");
+            return request;
+        }, 32, 2000);
+        
+        log.info("Carga contra el servidor local: " + report);
+        assertEquals(2000, report.getRequests());
+        assertEquals(0, report.getErrors());
+        // Con 5-15 ms de latencia inyectada la mediana no puede bajar de 5 ms
+        assertTrue(report.getPercentileMillis(50) >= 5.0);
+    }
+    
+    @Test
+    public void shareUrlMetadataDownloads() throws Exception {
+        String url = baseUri + "/html?title=compartida&delay=200";
+        long before = server.getRequestCount();
+        
+        List<Future<Map<String, String>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> PostUtils.getUrlMetadata(url)));
+            }
+        }
+        Map<String, String> cached = PostUtils.getUrlMetadata(url);
+        
+        assertEquals(1, server.getRequestCount() - before);
+        for (Future<Map<String, String>> future : futures) {
+            assertEquals("compartida", future.get().get("title"));
+            assertEquals("https://example.com/compartida.png", future.get().get("previmg"));
+        }
+        assertEquals(futures.get(0).get(), cached);
+    }
+    
+    @Test
+    public void readPageMetadataFromHead() throws Exception {
+        Map<String, String> metadata = HtmlMetadataExtractor.extract(baseUri + "/html?title=grande&size=4000000");
+        
+        assertEquals("grande", metadata.get("title"));
+        assertEquals("grande", metadata.get("description"));
+        assertEquals("https://example.com/grande.png", metadata.get("previmg"));
+        
+        // Sin descripción en la cabecera se toma el primer h1 del cuerpo
+        String html = "<html><head><title>Sin og</title></head><body><h2>Sub</h2><div><h1>Principal <i>1</i></h1></div></body></html>";
+        metadata = HtmlMetadataExtractor.parse(new StringReader(html), baseUri);
+        assertEquals("Sin og", metadata.get("title"));
+        assertEquals("Principal 1", metadata.get("description"));
+        assertNull(metadata.get("previmg"));
+    }
+    
+    @Test
+    public void keepCachedResponsesPerAccount() {
+        this.client.setResponseCache(new ApiResponseCache(100, 1024 * 1024));
+        long before = server.getRequestCount();
+        
+        assertEquals("{\"account\":\"Bearer A\",\"language\":\"es\"}", this.getProfile("Bearer A", "es"));
+        assertEquals("{\"account\":\"Bearer B\",\"language\":\"es\"}", this.getProfile("Bearer B", "es"));
+        assertEquals(2, server.getRequestCount() - before);
+        
+        // Cada cuenta recibe su propia respuesta desde la caché
+        assertEquals("{\"account\":\"Bearer A\",\"language\":\"es\"}", this.getProfile("Bearer A", "es"));
+        assertEquals("{\"account\":\"Bearer B\",\"language\":\"es\"}", this.getProfile("Bearer B", "es"));
+        assertEquals(2, server.getRequestCount() - before);
+        
+        // Otro valor de una cabecera listada en Vary es otra variante
+        assertEquals("{\"account\":\"Bearer A\",\"language\":\"en\"}", this.getProfile("Bearer A", "en"));
+        assertEquals(3, server.getRequestCount() - before);
+    }
+    
+    @Test
+    public void boundAndClearDiskCache() throws Exception {
+        Path directory = Files.createTempDirectory("cache");
+        ApiResponseCache cache = new ApiResponseCache(100, 1024 * 1024, directory.toString(), 2, 1024 * 1024);
+        this.client.setResponseCache(cache);
+        
+        for (int i = 0; i < 5; i++) {
+            this.getProfile("Bearer A", "es", "/profile?cache=max-age%3D60&n=" + i);
+        }
+        // Las escrituras en disco son asíncronas: se espera a que se apliquen los límites
+        long limit = System.currentTimeMillis() + 5000;
+        while ((countFiles(directory) != 2) && (System.currentTimeMillis() < limit)) {
+            Thread.sleep(20);
+        }
+        assertEquals(2, countFiles(directory));
+        
+        // Tras vaciar la caché no queda nada que recuperar del disco
+        cache.clear();
+        assertEquals(0, countFiles(directory));
+        long before = server.getRequestCount();
+        this.getProfile("Bearer A", "es", "/profile?cache=max-age%3D60&n=4");
+        assertEquals(1, server.getRequestCount() - before);
+    }
+    
+    @Test
+    public void invalidateDiskCacheForAllAccounts() throws Exception {
+        Path directory = Files.createTempDirectory("cache");
+        String path = "/profile?cache=max-age%3D60";
+        this.client.setResponseCache(new ApiResponseCache(100, 1024 * 1024, directory.toString()));
+        this.getProfile("Bearer A", "es", path);
+        this.getProfile("Bearer B", "es", path);
+        
+        // Otra instancia sobre el mismo directorio solo puede responder desde el disco
+        ApiResponseCache cache = new ApiResponseCache(100, 1024 * 1024, directory.toString());
+        this.client.setResponseCache(cache);
+        long limit = System.currentTimeMillis() + 5000;
+        while ((countFiles(directory) != 2) && (System.currentTimeMillis() < limit)) {
+            Thread.sleep(20);
+        }
+        long before = server.getRequestCount();
+        this.getProfile("Bearer A", "es", path);
+        this.getProfile("Bearer B", "es", path);
+        assertEquals(0, server.getRequestCount() - before);
+        
+        // La invalidación alcanza a las entradas en disco de todas las cuentas
+        cache.invalidate(new ApiRequest(baseUri + path, 200, ApiMethodType.GET));
+        assertEquals(0, countFiles(directory));
+        this.getProfile("Bearer A", "es", path);
+        this.getProfile("Bearer B", "es", path);
+        assertEquals(2, server.getRequestCount() - before);
+    }
+    
+    private static long countFiles(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".cache")).count();
+        }
+    }
+    
+    private String getProfile(String authorization, String language) {
+        return this.getProfile(authorization, language, "/profile");
+    }
+    
+    private String getProfile(String authorization, String language, String path) {
+        ApiRequest request = new ApiRequest(baseUri + path, 200, ApiMethodType.GET);
+        request.addApiHeader("Authorization", authorization);
+        request.addApiHeader("Accept-Language", language);
+        
+        return this.client.executeApiRequest(request).getResponseStr();
+    }
+}
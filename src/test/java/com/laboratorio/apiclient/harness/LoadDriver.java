@@ -0,0 +1,73 @@
+package com.laboratorio.apiclient.harness;
+
+import com.laboratorio.clientapilibrary.ApiClient;
+import com.laboratorio.clientapilibrary.metrics.LatencyHistogram;
+import com.laboratorio.clientapilibrary.model.ApiRequest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Generador de carga en bucle cerrado: cada hilo virtual ejecuta una petición tras
+ * otra hasta completar el total o agotar el tiempo, y se miden las latencias.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class LoadDriver {
+    private final ApiClient client;
+
+    public LoadDriver(ApiClient client) {
+        this.client = client;
+    }
+    
+    // Ejecuta un número fijo de peticiones con la concurrencia indicada
+    public LoadReport run(Supplier<ApiRequest> requests, int concurrency, long totalRequests) {
+        return this.run(requests, concurrency, totalRequests, null);
+    }
+    
+    // Ejecuta peticiones durante el tiempo indicado con la concurrencia indicada
+    public LoadReport run(Supplier<ApiRequest> requests, int concurrency, Duration duration) {
+        return this.run(requests, concurrency, Long.MAX_VALUE, duration);
+    }
+    
+    private LoadReport run(Supplier<ApiRequest> requests, int concurrency, long totalRequests, Duration duration) {
+        LatencyHistogram latencies = new LatencyHistogram();
+        AtomicLong issued = new AtomicLong();
+        LongAdder errors = new LongAdder();
+        Map<String, LongAdder> errorsByType = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        long end = (duration == null) ? Long.MAX_VALUE : start + duration.toNanos();
+        
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.submit(() -> {
+                    while ((issued.incrementAndGet() <= totalRequests) && (System.nanoTime() < end)) {
+                        ApiRequest request = requests.get();
+                        long requestStart = System.nanoTime();
+                        try {
+                            this.client.executeApiRequest(request);
+                            latencies.record(System.nanoTime() - requestStart);
+                        } catch (RuntimeException e) {
+                            errors.increment();
+                            errorsByType.computeIfAbsent(e.getClass().getSimpleName(), k -> new LongAdder()).increment();
+                        }
+                    }
+                });
+            }
+        }
+        
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Map<String, Long> errorSummary = new TreeMap<>();
+        errorsByType.forEach((type, count) -> errorSummary.put(type, count.sum()));
+        return new LoadReport(latencies.getCount() + errors.sum(), errors.sum(), errorSummary, elapsed, latencies);
+    }
+}
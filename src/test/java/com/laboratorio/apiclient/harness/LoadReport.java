@@ -0,0 +1,44 @@
+package com.laboratorio.apiclient.harness;
+
+import com.laboratorio.clientapilibrary.metrics.LatencyHistogram;
+import java.time.Duration;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Resultado de una ejecución del LoadDriver.
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+
+@Getter @AllArgsConstructor
+public class LoadReport {
+    private final long requests;
+    private final long errors;
+    // Errores agrupados por tipo de excepción
+    private final Map<String, Long> errorsByType;
+    private final Duration elapsed;
+    // Latencias de las peticiones correctas
+    private final LatencyHistogram latencies;
+    
+    public double getThroughput() {
+        double seconds = this.elapsed.toNanos() / 1e9;
+        return (seconds == 0) ? 0.0 : this.requests / seconds;
+    }
+    
+    public double getPercentileMillis(double percentile) {
+        return this.latencies.getValueAtPercentile(percentile) / 1e6;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("peticiones=%d, errores=%d %s, duración=%d ms, %.1f req/s, p50=%.2f ms, p90=%.2f ms, p99=%.2f ms, p99.9=%.2f ms, max=%.2f ms",
+                this.requests, this.errors, this.errorsByType, this.elapsed.toMillis(), this.getThroughput(),
+                this.getPercentileMillis(50), this.getPercentileMillis(90), this.getPercentileMillis(99),
+                this.getPercentileMillis(99.9), this.latencies.getMax() / 1e6);
+    }
+}
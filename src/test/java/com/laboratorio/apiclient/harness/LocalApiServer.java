@@ -0,0 +1,360 @@
+package com.laboratorio.apiclient.harness;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.laboratorio.clientapilibrary.utils.ContentDecoder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Servidor HTTP local que sustituye a las APIs reales en las pruebas de carga y
+ * latencia. Cada ruta reproduce un comportamiento y se configura con parámetros
+ * de la query:
+ *   /json?size=N&delay=ms&jitter=ms&encoding=E         cuerpo JSON de N bytes codificado con E (gzip, deflate, br,
+ *                                                      varias separadas por comas o auto para negociarla)
+ *   /cookies?n=N                                       N cabeceras Set-Cookie
+ *   /ratelimit?limit=N&window=s                        429 con Retry-After al superar N peticiones por ventana
+ *   /chunked?chunks=N&size=B&pause=ms                  respuesta en N trozos sin Content-Length
+ *   /slow?bytes=B&rate=bytesPorSegundo                 cuerpo enviado lentamente
+ *   /status?code=C                                     responde con el código indicado
+ *   /echo                                              devuelve el cuerpo de la petición descomprimido y
+ *                                                      su tamaño recibido en X-Received-Bytes
+ * 
+ * @author Rafael
+ * @version 1.0
+ * @created 17/10/2026
+ * @updated 17/10/2026
+ */
+public class LocalApiServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rateLimitCount = new AtomicLong();
+    private volatile long rateLimitWindowStart = System.nanoTime();
+    // Latencia añadida a todas las respuestas, en milisegundos
+    private volatile int baseDelay = 0;
+    private volatile int baseJitter = 0;
+
+    public LocalApiServer() throws IOException {
+        // Sin Nagle, para no medir las esperas del ACK retardado en lugar del cliente
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        Brotli4jLoader.ensureAvailability();
+        
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/json", this::handleJson);
+        this.server.createContext("/cookies", this::handleCookies);
+        this.server.createContext("/ratelimit", this::handleRateLimit);
+        this.server.createContext("/chunked", this::handleChunked);
+        this.server.createContext("/slow", this::handleSlow);
+        this.server.createContext("/status", this::handleStatus);
+        this.server.createContext("/echo", this::handleEcho);
+        this.server.createContext("/html", this::handleHtml);
+        this.server.createContext("/profile", this::handleProfile);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server.setExecutor(this.executor);
+        this.server.start();
+    }
+    
+    public String getBaseUri() {
+        return "http://127.0.0.1:" + this.server.getAddress().getPort();
+    }
+    
+    public void setLatency(int delayMillis, int jitterMillis) {
+        this.baseDelay = delayMillis;
+        this.baseJitter = jitterMillis;
+    }
+    
+    public long getRequestCount() {
+        return this.requests.get();
+    }
+    
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+    
+    private static Map<String, String> getParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return params;
+        }
+        
+        for (String pair : query.split("&")) {
+            int index = pair.indexOf('=');
+            if (index > 0) {
+                params.put(pair.substring(0, index), URLDecoder.decode(pair.substring(index + 1), StandardCharsets.UTF_8));
+            }
+        }
+        
+        return params;
+    }
+    
+    private static int getInt(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        return (value == null) ? defaultValue : Integer.parseInt(value);
+    }
+    
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    // Aplica la latencia global y la de la petición
+    private void delay(Map<String, String> params) {
+        this.requests.incrementAndGet();
+        int delay = this.baseDelay + getInt(params, "delay", 0);
+        int jitter = this.baseJitter + getInt(params, "jitter", 0);
+        sleep(delay + ((jitter > 0) ? ThreadLocalRandom.current().nextInt(jitter + 1) : 0));
+    }
+    
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, (body.length == 0) ? -1 : body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+    
+    public static byte[] createJson(int size) {
+        StringBuilder json = new StringBuilder("[");
+        int id = 0;
+        while (json.length() < size) {
+            if (id > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(id++).append(",\"username\":\"usuario").append(id)
+                    .append("\",\"content\":\"Publicación de prueba con #hashtag y https://example.com/").append(id).append("\"}");
+        }
+        
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    // Aplica las codificaciones en el orden indicado, como en Content-Encoding
+    public static byte[] encode(String encoding, byte[] data) throws IOException {
+        if (encoding == null) {
+            return data;
+        }
+        
+        byte[] encoded = data;
+        for (String name : encoding.split(",")) {
+            switch (name.trim().toLowerCase()) {
+                case "gzip" -> {
+                    ByteArrayOutputStream output = new ByteArrayOutputStream();
+                    try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+                        gzip.write(encoded);
+                    }
+                    encoded = output.toByteArray();
+                }
+                case "deflate" -> {
+                    ByteArrayOutputStream output = new ByteArrayOutputStream();
+                    try (DeflaterOutputStream deflate = new DeflaterOutputStream(output)) {
+                        deflate.write(encoded);
+                    }
+                    encoded = output.toByteArray();
+                }
+                case "br" -> encoded = Encoder.compress(encoded);
+                default -> {
+                }
+            }
+        }
+        
+        return encoded;
+    }
+    
+    // Elige la primera codificación conocida de la cabecera Accept-Encoding del cliente
+    private static String negotiate(HttpExchange exchange) {
+        String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (accepted != null) {
+            for (String name : accepted.split(",")) {
+                String encoding = name.trim().toLowerCase();
+                if (encoding.equals("gzip") || encoding.equals("deflate") || encoding.equals("br")) {
+                    return encoding;
+                }
+            }
+        }
+        
+        return "identity";
+    }
+
+    private void handleJson(HttpExchange exchange) throws IOException {
+        Map<String, String> params = getParams(exchange);
+        this.delay(params);
+        
+        String encoding = params.get("encoding");
+        if ("auto".equalsIgnoreCase(encoding)) {
+            encoding = negotiate(exchange);
+        }
+        byte[] body = encode(encoding, createJson(getInt(params, "size", 1024)));
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        if ((encoding != null) && !encoding.equalsIgnoreCase("identity")) {
+            exchange.getResponseHeaders().add("Content-Encoding", encoding);
+        }
+        send(exchange, 200, body);
+    }
+    
+    private void handleCookies(HttpExchange exchange) throws IOException {
+        Map<String, String> params = getParams(exchange);
+        this.delay(params);
+        
+        int count = getInt(params, "n", 1);
+        for (int i = 0; i < count; i++) {
+            exchange.getResponseHeaders().add("Set-Cookie", "cookie" + i + "=valor" + i + "; Path=/; Max-Age=3600; HttpOnly");
+        }
+        // Se devuelven las cookies recibidas para comprobar que el cliente las reenvía
+        String received = exchange.getRequestHeaders().getFirst("Cookie");
+        send(exchange, 200, ((received == null) ? "" : received).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private void handleRateLimit(HttpExchange exchange) throws IOException {
+        Map<String, String> params = getParams(exchange);
+        this.delay(params);
+        
+        int limit = getInt(params, "limit", 10);
+        long windowNanos = getInt(params, "window", 1) * 1_000_000_000L;
+        synchronized (this) {
+            if (System.nanoTime() - this.rateLimitWindowStart >= windowNanos) {
+                this.rateLimitWindowStart = System.nanoTime();
+                this.rateLimitCount.set(0);
+            }
+        }
+        
+        long count = this.rateLimitCount.incrementAndGet();
+        long reset = Math.max(1L, (windowNanos - (System.nanoTime() - this.rateLimitWindowStart) + 999_999_999L) / 1_000_000_000L);
+        exchange.getResponseHeaders().add("X-RateLimit-Remaining", String.valueOf(Math.max(0L, limit - count)));
+        exchange.getResponseHeaders().add("X-RateLimit-Reset", String.valueOf(reset));
+        if (count > limit) {
+            exchange.getResponseHeaders().add("Retry-After", String.valueOf(reset));
+            send(exchange, 429, "{\"error\":\"Too Many Requests\"}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        send(exchange, 200, "{\"ok\":true}".getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private void handleChunked(HttpExchange exchange) throws IOException {
+        Map<String, String> params = getParams(exchange);
+        this.delay(params);
+        
+        int chunks = getInt(params, "chunks", 10);
+        byte[] chunk = new byte[getInt(params, "size", 1024)];
+        Arrays.fill(chunk, (byte) 'x');
+        // Con longitud 0 el servidor usa Transfer-Encoding: chunked
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream output = exchange.getResponseBody()) {
+            for (int i = 0; i < chunks; i++) {
+                output.write(chunk);
+                output.flush();
+                sleep(getInt(params, "pause", 0));
+            }
+        }
+    }
+    
+    private void handleSlow(HttpExchange exchange) throws IOException {
+        Map<String, String> params = getParams(exchange);
+        this.delay(params);
+        
+        int bytes = getInt(params, "bytes", 10240);
+        int rate = Math.max(1, getInt(params, "rate", 10240));
+        // Se envía en trozos de una décima de segundo
+        byte[] slice = new byte[Math.max(1, rate / 10)];
+        Arrays.fill(slice, (byte) 'x');
+        exchange.sendResponseHeaders(200, bytes);
+        try (OutputStream output = exchange.getResponseBody()) {
+            int sent = 0;
+            while (sent < bytes) {
+                int length = Math.min(slice.length, bytes - sent);
+                output.write(slice, 0, length);
+                output.flush();
+                sent += length;
+                sleep(100);
+            }
+        } catch (IOException e) {
+            // El cliente abandonó la descarga
+        }
+    }
+    
+    private void handleStatus(HttpExchange exchange) throws IOException {
+        Map<String, String> params = getParams(exchange);
+        this.delay(params);
+        send(exchange, getInt(params, "code", 200), "{}".getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private void handleEcho(HttpExchange exchange) throws IOException {
+        Map<String, String> params = getParams(exchange);
+        this.delay(params);
+        byte[] received = exchange.getRequestBody().readAllBytes();
+        // Un cuerpo comprimido se devuelve descomprimido, indicando lo que ocupaba al recibirlo
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        byte[] body = received;
+        if (encoding != null) {
+            try (InputStream decoded = ContentDecoder.decode(encoding, new ByteArrayInputStream(received))) {
+                body = decoded.readAllBytes();
+            }
+        }
+        exchange.getResponseHeaders().add("X-Received-Bytes", String.valueOf(received.length));
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType != null) {
+            exchange.getResponseHeaders().add("Content-Type", contentType);
+        }
+        send(exchange, 200, body);
+    }
+    
+    // Página con la metadata en la cabecera seguida de un cuerpo de unos size bytes
+    public static byte[] createHtml(String title, int size) {
+        StringBuilder html = new StringBuilder(size + 512);
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>").append(title).append("</title>\n");
+        html.append("<meta property=\"og:title\" content=\"").append(title).append("\">\n");
+        html.append("<meta property=\"og:image\" content=\"https://example.com/").append(title).append(".png\">\n");
+        html.append("</head>\n<body><h1>").append(title).append("</h1>\n");
+        while (html.length() < size) {
+            html.append("<p>Lorem ipsum dolor sit amet, consectetur adipiscing elit.</p>\n");
+        }
+        html.append("</body></html>");
+        
+        return html.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    // Perfil de la cuenta indicada en Authorization, almacenable durante un minuto salvo otro Cache-Control
+    private void handleProfile(HttpExchange exchange) throws IOException {
+        Map<String, String> params = getParams(exchange);
+        this.delay(params);
+        String account = exchange.getRequestHeaders().getFirst("Authorization");
+        String language = exchange.getRequestHeaders().getFirst("Accept-Language");
+        exchange.getResponseHeaders().add("Cache-Control", params.getOrDefault("cache", "private, max-age=60"));
+        exchange.getResponseHeaders().add("Vary", "Accept-Language");
+        String body = "{\"account\":\"" + account + "\",\"language\":\"" + language + "\"}";
+        send(exchange, 200, body.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private void handleHtml(HttpExchange exchange) throws IOException {
+        Map<String, String> params = getParams(exchange);
+        this.delay(params);
+        exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+        send(exchange, 200, createHtml(params.getOrDefault("title", "pagina"), getInt(params, "size", 0)));
+    }
+}
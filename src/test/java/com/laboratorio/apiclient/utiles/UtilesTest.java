@@ -2,10 +2,15 @@ package com.laboratorio.apiclient.utiles;
 
 import com.laboratorio.clientapilibrary.utils.ElementoPost;
 import com.laboratorio.clientapilibrary.utils.ImageMetadata;
+import com.laboratorio.clientapilibrary.utils.ImageMetadataExtractor;
 import com.laboratorio.clientapilibrary.utils.PostUtils;
+import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import javax.imageio.ImageIO;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -67,6 +72,32 @@ public class UtilesTest {
         assertEquals(height, imageMetadata.getHeight());
     }
     
+    @Test
+    public void extractAllImageMetadata() throws IOException {
+        String[] formats = {"png", "jpg", "gif", "bmp"};
+        String[] mimeTypes = {"image/png", "image/jpeg", "image/gif", "image/bmp"};
+        List<String> filePaths = new ArrayList<>();
+        for (String format : formats) {
+            File file = File.createTempFile("imagen", "." + format);
+            file.deleteOnExit();
+            ImageIO.write(new BufferedImage(321, 123, BufferedImage.TYPE_INT_RGB), format, file);
+            filePaths.add(file.getPath());
+        }
+        filePaths.add(filePaths.get(0) + ".inexistente");
+        
+        Map<String, ImageMetadata> result = ImageMetadataExtractor.extractAll(filePaths);
+        
+        assertEquals(filePaths, new ArrayList<>(result.keySet()));
+        for (int i = 0; i < formats.length; i++) {
+            ImageMetadata imageMetadata = result.get(filePaths.get(i));
+            assertEquals(321, imageMetadata.getWidth());
+            assertEquals(123, imageMetadata.getHeight());
+            assertEquals(mimeTypes[i], imageMetadata.getMimeType());
+            assertEquals(new File(filePaths.get(i)).length(), imageMetadata.getSize());
+        }
+        assertNull(result.get(filePaths.get(formats.length)));
+    }
+    
     @Test
     public void getYouTubeMetadata() throws IOException {
         String url = "https://www.youtube.com/watch?v=zkSz6gkY2hk&list=PLtdeXn2f7ZbPXR2R0JC0Qc8OURym5-Zze";